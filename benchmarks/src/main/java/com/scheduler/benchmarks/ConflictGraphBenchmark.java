@@ -0,0 +1,55 @@
+package com.scheduler.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.scheduler.logic.CatalogGenerator;
+import com.scheduler.logic.ConflictGraph;
+import com.scheduler.model.Course;
+
+/**
+ * Costo de preparar un catálogo grande: construcción del {@link ConflictGraph}
+ * (todas las comparaciones entre pares de grupos) sobre miles de grupos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConflictGraphBenchmark {
+
+    @Param({"100", "500"})
+    public int subjects;
+
+    @Param({"10"})
+    public int groupsPerSubject;
+
+    @Param({"0.3"})
+    public double conflictDensity;
+
+    private List<Course> catalog;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        catalog = new CatalogGenerator(subjects, groupsPerSubject, 2, 5, conflictDensity, 42).generate();
+    }
+
+    @Benchmark
+    public ConflictGraph buildConflictGraph() {
+        return new ConflictGraph(catalog);
+    }
+}
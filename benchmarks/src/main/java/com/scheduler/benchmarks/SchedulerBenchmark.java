@@ -0,0 +1,128 @@
+package com.scheduler.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.scheduler.algorithm.DivideConquerScheduler;
+import com.scheduler.algorithm.DynamicProgrammingScheduler;
+import com.scheduler.algorithm.ForwardCheckingScheduler;
+import com.scheduler.algorithm.GreedyScheduler;
+import com.scheduler.algorithm.ParallelScheduler;
+import com.scheduler.logic.CatalogGenerator;
+import com.scheduler.logic.ConflictGraph;
+import com.scheduler.logic.PriorityType;
+import com.scheduler.logic.Scheduler;
+import com.scheduler.model.Course;
+
+/**
+ * Benchmarks JMH de los algoritmos de generación de horarios
+ *
+ * Cada combinación de parámetros arma un catálogo con {@link CatalogGenerator}
+ * con la cantidad de materias y grupos indicada. La densidad de conflictos es la
+ * probabilidad de que cada sesión de un grupo caiga en un bloque ya usado por
+ * otra materia.
+ *
+ * Para ver la tasa de asignación de memoria ejecutar con el perfilador de GC
+ * (ver {@link BenchmarkRunner} o {@code java -jar target/benchmarks.jar -prof gc}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SchedulerBenchmark {
+
+    private static final int SESSIONS_PER_GROUP = 2;
+    private static final int DAY_SPREAD = 5;
+    private static final long SEED = 42;
+
+    @Param({"4", "6", "8"})
+    public int subjects;
+
+    @Param({"3", "5"})
+    public int groupsPerSubject;
+
+    @Param({"0.1", "0.3", "0.5"})
+    public double conflictDensity;
+
+    @Param({"FEWER_DAYS"})
+    public PriorityType priority;
+
+    private List<String> desiredSubjects;
+    private Scheduler scheduler;
+    private ParallelScheduler parallelScheduler;
+    private ForwardCheckingScheduler forwardCheckingScheduler;
+    private DivideConquerScheduler divideConquerScheduler;
+    private GreedyScheduler greedyScheduler;
+    private DynamicProgrammingScheduler dynamicProgrammingScheduler;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        CatalogGenerator generator = new CatalogGenerator(subjects, groupsPerSubject,
+                SESSIONS_PER_GROUP, DAY_SPREAD, conflictDensity, SEED);
+        ConflictGraph graph = new ConflictGraph(generator.generate());
+        desiredSubjects = generator.subjectNames();
+
+        // Todos los algoritmos comparten el mismo grafo, como en AlgorithmBenchmark
+        scheduler = new Scheduler(graph);
+        parallelScheduler = new ParallelScheduler(graph);
+        forwardCheckingScheduler = new ForwardCheckingScheduler(graph);
+        divideConquerScheduler = new DivideConquerScheduler(graph);
+        greedyScheduler = new GreedyScheduler(graph);
+        dynamicProgrammingScheduler = new DynamicProgrammingScheduler(graph);
+    }
+
+    @Benchmark
+    public List<List<Course>> backtracking() {
+        return scheduler.generateSchedules(desiredSubjects, priority);
+    }
+
+    @Benchmark
+    public List<List<Course>> parallelBacktracking() {
+        return parallelScheduler.generateSchedules(desiredSubjects, priority);
+    }
+
+    @Benchmark
+    public List<List<Course>> forwardChecking() {
+        return forwardCheckingScheduler.generateSchedules(desiredSubjects, priority);
+    }
+
+    @Benchmark
+    public List<List<Course>> topTenBacktracking() {
+        return scheduler.generateTopSchedules(desiredSubjects, priority, 10);
+    }
+
+    @Benchmark
+    public long countSchedules() {
+        return scheduler.countSchedules(desiredSubjects);
+    }
+
+    @Benchmark
+    public List<List<Course>> divideAndConquer() {
+        return divideConquerScheduler.generateSchedules(desiredSubjects, priority);
+    }
+
+    @Benchmark
+    public List<List<Course>> greedy() {
+        return greedyScheduler.generateSchedules(desiredSubjects, priority);
+    }
+
+    @Benchmark
+    public List<List<Course>> dynamicProgramming() {
+        return dynamicProgrammingScheduler.generateSchedules(desiredSubjects, priority);
+    }
+}
@@ -1,29 +1,130 @@
 package com.scheduler;
 
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Scanner;
 import java.util.stream.Collectors;
 
 import com.scheduler.gui.SchedulerGUI;
+import com.scheduler.logic.BatchScheduler;
+import com.scheduler.logic.ConflictGraph;
 import com.scheduler.logic.DataLoader;
 import com.scheduler.logic.PriorityType;
 import com.scheduler.logic.Scheduler;
 import com.scheduler.logic.ScheduleEvaluator;
 import com.scheduler.model.Course;
+import com.scheduler.server.ScheduleServer;
 
 import javafx.application.Application;
 
 public class Main {
     public static void main(String[] args) {
+        // --catalog <ruta> carga un catálogo JSON desde disco en lugar de courses.json
         if (args.length > 0 && args[0].equals("--console")) {
-            runConsoleMode();
+            runConsoleMode(Arrays.asList(args));
+        } else if (args.length > 0 && args[0].equals("--batch")) {
+            runBatchMode(Arrays.asList(args));
+        } else if (args.length > 0 && args[0].equals("--server")) {
+            runServerMode(Arrays.asList(args));
         } else {
             Application.launch(SchedulerGUI.class, args);
         }
     }
 
-    private static void runConsoleMode() {
+    /**
+     * Modo lote: --batch solicitudes.txt --out resultados.jsonl [--threads N] [--top K] [--catalog ruta]
+     */
+    private static void runBatchMode(List<String> args) {
+        String input = optionValue(args, "--batch");
+        String output = optionValue(args, "--out");
+        if (input == null || output == null) {
+            System.err.println("Uso: --batch solicitudes.txt --out resultados.jsonl"
+                    + " [--threads N] [--top K] [--catalog ruta]");
+            return;
+        }
+
+        int threads;
+        int top;
+        try {
+            threads = Integer.parseInt(optionValue(args, "--threads",
+                    String.valueOf(Runtime.getRuntime().availableProcessors())));
+            top = Integer.parseInt(optionValue(args, "--top", "1"));
+        } catch (NumberFormatException e) {
+            System.err.println("Número inválido: " + e.getMessage());
+            return;
+        }
+
+        // El catálogo y su grafo de conflictos se cargan una sola vez para todas las solicitudes
+        List<Course> allCourses = new DataLoader().loadCatalog(args);
+        if (allCourses.isEmpty()) {
+            System.err.println("Error: No se pudieron cargar los cursos.");
+            return;
+        }
+        ConflictGraph graph = new ConflictGraph(allCourses);
+
+        try {
+            BatchScheduler batch = new BatchScheduler(graph, threads, top);
+            BatchScheduler.Report report = batch.process(Paths.get(input), Paths.get(output));
+            System.out.println(report);
+            System.out.println("Resultados en " + output);
+        } catch (IOException e) {
+            System.err.println("Error en el procesamiento en lote: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Modo servidor: --server [--port 8080] [--catalog ruta]
+     */
+    private static void runServerMode(List<String> args) {
+        int port;
+        try {
+            port = Integer.parseInt(optionValue(args, "--port", "8080"));
+        } catch (NumberFormatException e) {
+            System.err.println("Puerto inválido: " + e.getMessage());
+            return;
+        }
+
+        // Sin TCP_NODELAY, la respuesta (cabeceras y cuerpo por separado) espera el ACK
+        // retardado del cliente. El JDK lee la propiedad una sola vez, al crear el primer
+        // servidor, así que se fija aquí antes de crearlo y solo si no vino con -D
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+
+        List<Course> allCourses = new DataLoader().loadCatalog(args);
+        if (allCourses.isEmpty()) {
+            System.err.println("Error: No se pudieron cargar los cursos.");
+            return;
+        }
+
+        ScheduleServer server = new ScheduleServer(new ConflictGraph(allCourses));
+        server.setCatalogLoader(() -> new DataLoader().loadCatalog(args));
+        try {
+            server.start(port);
+        } catch (IOException e) {
+            System.err.println("No se pudo iniciar el servidor en el puerto " + port + ": " + e.getMessage());
+            return;
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> server.stop(1)));
+        System.out.println("Servidor de horarios escuchando en http://localhost:" + server.getPort()
+                + " (" + allCourses.size() + " cursos)");
+    }
+
+    private static String optionValue(List<String> args, String option) {
+        return optionValue(args, option, null);
+    }
+
+    private static String optionValue(List<String> args, String option, String defaultValue) {
+        int position = args.indexOf(option);
+        if (position >= 0 && position + 1 < args.size()) {
+            return args.get(position + 1);
+        }
+        return defaultValue;
+    }
+
+    private static void runConsoleMode(List<String> args) {
         System.out.println("****************************************");
         System.out.println("  Horarios Académicos");
         System.out.println("  Algoritmo: Backtracking (NP-Complete)");
@@ -31,7 +132,7 @@ public class Main {
 
         // 1. Cargar cursos desde JSON
         DataLoader loader = new DataLoader();
-        List<Course> allCourses = loader.loadCourses("courses.json");
+        List<Course> allCourses = loader.loadCatalog(args);
         
         if (allCourses.isEmpty()) {
             System.err.println("Error: No se pudieron cargar los cursos.");
@@ -114,7 +215,14 @@ public class Main {
         
         if (solutions.isEmpty()) {
             System.out.println(" No se encontró ningún horario compatible.");
-            System.out.println(" Las materias seleccionadas tienen conflictos.");
+            List<String> conflicting = scheduler.checkFeasibility(desiredSubjects).getConflictingSubjects();
+            if (conflicting.size() == 1) {
+                System.out.println(" ⚠ No se encontraron cursos para la materia: " + conflicting.get(0));
+            } else if (!conflicting.isEmpty()) {
+                System.out.println(" ⚠ Materias incompatibles entre sí: " + String.join(", ", conflicting));
+            } else {
+                System.out.println(" Las materias seleccionadas tienen conflictos.");
+            }
         } else {
             int count = 1;
             for (List<Course> schedule : solutions) {
@@ -1,63 +1,185 @@
 package com.scheduler.algorithm;
 
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
 
+import com.scheduler.logic.ConflictGraph;
 import com.scheduler.logic.PriorityType;
 import com.scheduler.logic.Scheduler;
+import com.scheduler.logic.SearchMonitor;
 import com.scheduler.model.Course;
 
-
+/**
+ * Mide los algoritmos sobre un mismo grafo de conflictos
+ *
+ * Cada medición puede ir precedida de ejecuciones de calentamiento (para que el
+ * JIT compile el código antes de medir) y repetirse varias veces; el resultado
+ * guarda la mediana y el percentil 95 de los tiempos. La memoria es la cantidad
+ * de bytes que asignan los hilos del algoritmo (el que lo llama y los del pool
+ * Fork/Join propio de cada medición), así que no depende de cuándo corre el
+ * recolector de basura ni de lo que hagan otros algoritmos en paralelo.
+ *
+ * En modo concurrente la comparación ejecuta cada algoritmo en su propio hilo.
+ */
 public class AlgorithmBenchmark {
 
-    private List<Course> allCourses;
+    private static final com.sun.management.ThreadMXBean THREADS = threadMXBean();
+
+    private ConflictGraph conflictGraph;
+    private int warmupIterations;
+    private int trials;
+    private boolean concurrent;
 
     public AlgorithmBenchmark(List<Course> allCourses) {
-        this.allCourses = allCourses;
+        this(new ConflictGraph(allCourses));
     }
 
-    
+    /**
+     * @param conflictGraph grafo de conflictos compartido por todos los algoritmos
+     */
+    public AlgorithmBenchmark(ConflictGraph conflictGraph) {
+        this.conflictGraph = conflictGraph;
+        this.warmupIterations = 0;
+        this.trials = 1;
+        this.concurrent = false;
+    }
+
+    /**
+     * @param warmupIterations ejecuciones previas que no se miden
+     */
+    public void setWarmupIterations(int warmupIterations) {
+        this.warmupIterations = Math.max(0, warmupIterations);
+    }
+
+    /**
+     * @param trials ejecuciones medidas de cada algoritmo (al menos 1)
+     */
+    public void setTrials(int trials) {
+        this.trials = Math.max(1, trials);
+    }
+
+    /**
+     * @param concurrent si es true, la comparación ejecuta los algoritmos a la vez en hilos separados
+     */
+    public void setConcurrent(boolean concurrent) {
+        this.concurrent = concurrent;
+    }
+
+    public int getWarmupIterations() {
+        return warmupIterations;
+    }
+
+    public int getTrials() {
+        return trials;
+    }
+
+    public boolean isConcurrent() {
+        return concurrent;
+    }
+
+
     public BenchmarkResult runBenchmark(AlgorithmType algorithmType, List<String> desiredSubjects) {
         return runBenchmark(algorithmType, desiredSubjects, PriorityType.FEWER_DAYS);
     }
 
     public BenchmarkResult runBenchmark(AlgorithmType algorithmType, List<String> desiredSubjects, PriorityType priority) {
-        // Forzar garbage collection antes de medir
-        System.gc();
-        
-        long memoryBefore = Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
-        long startTime = System.nanoTime();
+        return runBenchmark(algorithmType, desiredSubjects, priority, new SearchMonitor());
+    }
 
+    /**
+     * Ejecuta un algoritmo informando su avance al monitor
+     * @throws java.util.concurrent.CancellationException si el monitor se cancela durante la búsqueda
+     */
+    public BenchmarkResult runBenchmark(AlgorithmType algorithmType, List<String> desiredSubjects,
+                                        PriorityType priority, SearchMonitor monitor) {
+        monitor.visit();
+
+        for (int i = 0; i < warmupIterations; i++) {
+            measure(algorithmType, desiredSubjects, priority, monitor);
+        }
+
+        long[] trialTimesNs = new long[trials];
+        long[] allocatedBytes = new long[trials];
         List<List<Course>> solutions = null;
+        for (int i = 0; i < trials; i++) {
+            // Con los algoritmos corriendo a la vez, un GC forzado frenaría a todos
+            if (!concurrent) {
+                System.gc();
+            }
+            Measurement measurement = measure(algorithmType, desiredSubjects, priority, monitor);
+            trialTimesNs[i] = measurement.elapsedNs;
+            allocatedBytes[i] = measurement.allocatedBytes;
+            solutions = measurement.solutions;
+        }
 
-        switch (algorithmType) {
-            case BACKTRACKING:
-                Scheduler backtracking = new Scheduler(allCourses);
-                solutions = backtracking.generateSchedules(desiredSubjects, priority);
-                break;
+        Arrays.sort(allocatedBytes);
+        return new BenchmarkResult(algorithmType, solutions, trialTimesNs, allocatedBytes[allocatedBytes.length / 2]);
+    }
 
-            case DIVIDE_CONQUER:
-                DivideConquerScheduler divideConquer = new DivideConquerScheduler(allCourses);
-                solutions = divideConquer.generateSchedules(desiredSubjects, priority);
-                break;
+    /**
+     * Una ejecución del algoritmo: tiempo transcurrido y bytes asignados por sus hilos
+     */
+    private Measurement measure(AlgorithmType algorithmType, List<String> desiredSubjects,
+                                PriorityType priority, SearchMonitor monitor) {
+        AllocationMeter meter = new AllocationMeter();
+        ForkJoinPool pool = null;
+        try {
+            meter.start();
+            long startTime = System.nanoTime();
 
-            case GREEDY:
-                GreedyScheduler greedy = new GreedyScheduler(allCourses);
-                solutions = greedy.generateSchedules(desiredSubjects, priority);
-                break;
+            List<List<Course>> solutions = null;
 
-            case DYNAMIC_PROGRAMMING:
-                DynamicProgrammingScheduler dp = new DynamicProgrammingScheduler(allCourses);
-                solutions = dp.generateSchedules(desiredSubjects, priority);
-                break;
-        }
+            switch (algorithmType) {
+                case BACKTRACKING:
+                    Scheduler backtracking = new Scheduler(conflictGraph);
+                    solutions = backtracking.generateSchedules(desiredSubjects, priority, monitor);
+                    break;
+
+                case PARALLEL_BACKTRACKING:
+                    pool = meter.newPool();
+                    ParallelScheduler parallel = new ParallelScheduler(conflictGraph, pool,
+                        ParallelScheduler.DEFAULT_SPLIT_DEPTH);
+                    solutions = parallel.generateSchedules(desiredSubjects, priority, monitor);
+                    break;
 
-        long endTime = System.nanoTime();
-        long memoryAfter = Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
+                case FORWARD_CHECKING:
+                    ForwardCheckingScheduler forwardChecking = new ForwardCheckingScheduler(conflictGraph);
+                    solutions = forwardChecking.generateSchedules(desiredSubjects, priority, monitor);
+                    break;
 
-        long executionTimeMs = (endTime - startTime) / 1_000_000;
-        long memoryUsed = Math.max(0, memoryAfter - memoryBefore);
+                case DIVIDE_CONQUER:
+                    pool = meter.newPool();
+                    DivideConquerScheduler divideConquer = new DivideConquerScheduler(conflictGraph, pool);
+                    solutions = divideConquer.generateSchedules(desiredSubjects, priority, monitor);
+                    break;
 
-        return new BenchmarkResult(algorithmType, solutions, executionTimeMs, memoryUsed);
+                case GREEDY:
+                    GreedyScheduler greedy = new GreedyScheduler(conflictGraph);
+                    solutions = greedy.generateSchedules(desiredSubjects, priority);
+                    break;
+
+                case DYNAMIC_PROGRAMMING:
+                    DynamicProgrammingScheduler dp = new DynamicProgrammingScheduler(conflictGraph);
+                    solutions = dp.generateSchedules(desiredSubjects, priority, monitor);
+                    break;
+            }
+
+            long elapsedNs = System.nanoTime() - startTime;
+            return new Measurement(solutions, elapsedNs, meter.allocatedBytes());
+        } finally {
+            if (pool != null) {
+                pool.shutdown();
+            }
+        }
     }
 
     /**
@@ -68,12 +190,53 @@ public class AlgorithmBenchmark {
     }
 
     public List<BenchmarkResult> runAllBenchmarks(List<String> desiredSubjects, PriorityType priority) {
-        return List.of(
-            runBenchmark(AlgorithmType.BACKTRACKING, desiredSubjects, priority),
-            runBenchmark(AlgorithmType.DIVIDE_CONQUER, desiredSubjects, priority),
-            runBenchmark(AlgorithmType.GREEDY, desiredSubjects, priority),
-            runBenchmark(AlgorithmType.DYNAMIC_PROGRAMMING, desiredSubjects, priority)
-        );
+        return runAllBenchmarks(desiredSubjects, priority, new SearchMonitor());
+    }
+
+    /**
+     * Ejecuta todos los algoritmos, uno tras otro o a la vez según {@link #setConcurrent(boolean)}
+     * @return resultados en el orden de {@link AlgorithmType}
+     * @throws CancellationException si el monitor se cancela durante la búsqueda
+     */
+    public List<BenchmarkResult> runAllBenchmarks(List<String> desiredSubjects, PriorityType priority,
+                                                  SearchMonitor monitor) {
+        AlgorithmType[] algorithms = AlgorithmType.values();
+        List<BenchmarkResult> results = new ArrayList<>(algorithms.length);
+        if (!concurrent) {
+            for (AlgorithmType algorithm : algorithms) {
+                results.add(runBenchmark(algorithm, desiredSubjects, priority, monitor));
+            }
+            return results;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(algorithms.length, task -> {
+            Thread thread = new Thread(task, "benchmark");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<BenchmarkResult>> futures = new ArrayList<>(algorithms.length);
+            for (AlgorithmType algorithm : algorithms) {
+                futures.add(executor.submit(() -> runBenchmark(algorithm, desiredSubjects, priority, monitor)));
+            }
+            for (Future<BenchmarkResult> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            monitor.cancel();
+            throw new CancellationException("Comparación interrumpida");
+        } catch (ExecutionException e) {
+            // Detener a los demás algoritmos y propagar el error original
+            monitor.cancel();
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
     }
 
     
@@ -84,21 +247,156 @@ public class AlgorithmBenchmark {
         report.append("**************************************************************\n");
 
         // Tabla de resultados
-        report.append(String.format("%-25s %10s %12s %12s %10s\n", 
-            "ALGORITMO", "SOLUCIONES", "TIEMPO (ms)", "MEMORIA (MB)", "CALIDAD"));
-        report.append("─".repeat(75)).append("\n");
+        report.append(String.format("%-25s %10s %12s %10s %12s %10s\n", 
+            "ALGORITMO", "SOLUCIONES", "TIEMPO (ms)", "P95 (ms)", "MEMORIA (MB)", "CALIDAD"));
+        report.append("─".repeat(86)).append("\n");
 
         for (BenchmarkResult result : results) {
-            report.append(String.format("%-25s %10d %12d %12.2f %10.2f\n",
+            report.append(String.format("%-25s %10d %12.2f %10.2f %12.2f %10.2f\n",
                 result.getAlgorithmType().getDisplayName(),
                 result.getSolutionsFound(),
-                result.getExecutionTimeMs(),
+                result.getMedianTimeMs(),
+                result.getP95TimeMs(),
                 result.getMemoryUsedMB(),
                 result.getQualityScore()));
         }
 
         report.append("\n");
+        report.append(String.format("Tiempo: mediana de %d ejecución(es) tras %d de calentamiento%s\n",
+            trials, warmupIterations, concurrent ? ", algoritmos en paralelo" : ""));
+        report.append("Memoria: bytes asignados por los hilos de cada algoritmo\n");
+
+        // Aceleración del backtracking paralelo respecto al secuencial
+        BenchmarkResult sequential = findResult(results, AlgorithmType.BACKTRACKING);
+        BenchmarkResult parallel = findResult(results, AlgorithmType.PARALLEL_BACKTRACKING);
+        if (sequential != null && parallel != null) {
+            report.append(String.format("Speedup paralelo (%d hilos): %.2fx\n",
+                Runtime.getRuntime().availableProcessors(),
+                Math.max(0.001, sequential.getMedianTimeMs()) / Math.max(0.001, parallel.getMedianTimeMs())));
+        }
 
         return report.toString();
     }
+
+    private BenchmarkResult findResult(List<BenchmarkResult> results, AlgorithmType algorithmType) {
+        for (BenchmarkResult result : results) {
+            if (result.getAlgorithmType() == algorithmType) {
+                return result;
+            }
+        }
+        return null;
+    }
+
+    private static com.sun.management.ThreadMXBean threadMXBean() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+            if (threads.isThreadAllocatedMemorySupported()) {
+                threads.setThreadAllocatedMemoryEnabled(true);
+                return threads;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Resultado de una ejecución medida
+     */
+    private static class Measurement {
+        final List<List<Course>> solutions;
+        final long elapsedNs;
+        final long allocatedBytes;
+
+        Measurement(List<List<Course>> solutions, long elapsedNs, long allocatedBytes) {
+            this.solutions = solutions;
+            this.elapsedNs = elapsedNs;
+            this.allocatedBytes = allocatedBytes;
+        }
+    }
+
+    /**
+     * Cuenta los bytes asignados por el hilo que mide y por los hilos de los
+     * pools que crea. Un hilo del pool puede terminar antes de la lectura final
+     * (el pool retira los hilos ociosos), y entonces la JVM ya no informa sus
+     * asignaciones; por eso cada hilo deja anotado su total al terminar. Si la
+     * JVM no informa asignaciones por hilo se usa la diferencia del heap, que
+     * solo es aproximada
+     */
+    private static class AllocationMeter implements ForkJoinPool.ForkJoinWorkerThreadFactory {
+        private final long callerId = Thread.currentThread().getId();
+        private final List<Long> workerIds = new ArrayList<>();
+        private long finishedWorkerBytes;
+        private long callerBefore;
+
+        void start() {
+            if (THREADS != null) {
+                callerBefore = THREADS.getThreadAllocatedBytes(callerId);
+            } else {
+                callerBefore = Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
+            }
+        }
+
+        /**
+         * Pool Fork/Join cuyos hilos quedan registrados en este medidor
+         */
+        ForkJoinPool newPool() {
+            return new ForkJoinPool(Runtime.getRuntime().availableProcessors(), this, null, false);
+        }
+
+        @Override
+        public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+            ForkJoinWorkerThread thread = new MeteredWorker(pool, this);
+            synchronized (workerIds) {
+                workerIds.add(thread.getId());
+            }
+            return thread;
+        }
+
+        /**
+         * Lo llama cada hilo del pool al terminar, con lo que asignó en toda su vida
+         */
+        void workerFinished(long threadId, long allocatedBytes) {
+            synchronized (workerIds) {
+                if (workerIds.remove(threadId)) {
+                    finishedWorkerBytes += Math.max(0, allocatedBytes);
+                }
+            }
+        }
+
+        long allocatedBytes() {
+            if (THREADS == null) {
+                long heap = Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
+                return Math.max(0, heap - callerBefore);
+            }
+            long total = THREADS.getThreadAllocatedBytes(callerId) - callerBefore;
+            synchronized (workerIds) {
+                total += finishedWorkerBytes;
+                for (long id : workerIds) {
+                    // Los hilos que siguen en la lista aún no terminaron
+                    total += Math.max(0, THREADS.getThreadAllocatedBytes(id));
+                }
+            }
+            return Math.max(0, total);
+        }
+    }
+
+    /**
+     * Hilo del pool que informa sus asignaciones al medidor antes de terminar
+     */
+    private static class MeteredWorker extends ForkJoinWorkerThread {
+        private final AllocationMeter meter;
+
+        MeteredWorker(ForkJoinPool pool, AllocationMeter meter) {
+            super(pool);
+            this.meter = meter;
+        }
+
+        @Override
+        protected void onTermination(Throwable exception) {
+            if (THREADS != null) {
+                meter.workerFinished(getId(), THREADS.getCurrentThreadAllocatedBytes());
+            }
+            super.onTermination(exception);
+        }
+    }
 }
@@ -2,6 +2,8 @@ package com.scheduler.algorithm;
 
 public enum AlgorithmType {
     BACKTRACKING("Principal", "Búsqueda exhaustiva con retroceso"),
+    PARALLEL_BACKTRACKING("Backtracking Paralelo", "Búsqueda exhaustiva dividida con Fork/Join"),
+    FORWARD_CHECKING("Backtracking MRV", "Materia más restringida primero con forward checking"),
     DIVIDE_CONQUER("(Test) Divide y Conquista", "División recursiva del problema"),
     GREEDY("(Test) Algoritmo Goloso", "Selección por heurística local"),
     DYNAMIC_PROGRAMMING("(Test) Programación Dinámica", "Optimización con memorización");
@@ -2,26 +2,47 @@ package com.scheduler.algorithm;
 
 import java.util.List;
 
+import com.scheduler.logic.ScheduleSet;
 import com.scheduler.model.Course;
+import com.scheduler.model.TimeSlot;
+import com.scheduler.model.Weekday;
 
 public class BenchmarkResult {
     private AlgorithmType algorithmType;
     private List<List<Course>> solutions;
     private long executionTimeMs;
+    private long[] trialTimesNs;
     private long memoryUsedBytes;
     private int solutionsFound;
     private double qualityScore;
 
     public BenchmarkResult(AlgorithmType algorithmType, List<List<Course>> solutions, 
                           long executionTimeMs, long memoryUsedBytes) {
+        this(algorithmType, solutions, new long[]{executionTimeMs * 1_000_000}, memoryUsedBytes);
+    }
+
+    /**
+     * @param trialTimesNs duración de cada ejecución medida, en nanosegundos
+     * @param memoryUsedBytes bytes asignados durante la ejecución
+     */
+    public BenchmarkResult(AlgorithmType algorithmType, List<List<Course>> solutions,
+                          long[] trialTimesNs, long memoryUsedBytes) {
         this.algorithmType = algorithmType;
         this.solutions = solutions;
-        this.executionTimeMs = executionTimeMs;
+        this.trialTimesNs = trialTimesNs.clone();
+        java.util.Arrays.sort(this.trialTimesNs);
+        this.executionTimeMs = percentileNs(50) / 1_000_000;
         this.memoryUsedBytes = memoryUsedBytes;
         this.solutionsFound = solutions.size();
         this.qualityScore = calculateQualityScore(solutions);
     }
 
+    // Percentil por rango más cercano sobre los tiempos ordenados
+    private long percentileNs(int percentile) {
+        int rank = (int) Math.ceil(percentile / 100.0 * trialTimesNs.length);
+        return trialTimesNs[Math.max(0, rank - 1)];
+    }
+
     private double calculateQualityScore(List<List<Course>> solutions) {
         if (solutions.isEmpty()) return 0.0;
         
@@ -31,33 +52,57 @@ public class BenchmarkResult {
         double diversityScore = Math.min(solutions.size() * 10.0, 100.0);
         
         // Calcular dispersión promedio de horarios
-        double avgDispersion = solutions.stream()
-            .mapToDouble(this::calculateScheduleDispersion)
-            .average()
-            .orElse(0.0);
+        double avgDispersion;
+        if (solutions instanceof ScheduleSet) {
+            avgDispersion = calculateAverageDispersion((ScheduleSet) solutions);
+        } else {
+            avgDispersion = solutions.stream()
+                .mapToDouble(this::calculateScheduleDispersion)
+                .average()
+                .orElse(0.0);
+        }
         
         return (diversityScore * 0.6) + (avgDispersion * 0.4);
     }
 
+    /**
+     * Dispersión promedio recorriendo las filas del conjunto compacto,
+     * sin crear una vista por horario
+     */
+    private double calculateAverageDispersion(ScheduleSet schedules) {
+        if (schedules.getWidth() == 0) return 0.0;
+
+        double total = 0.0;
+        int[] dayCount = new int[7];
+        for (int row = 0; row < schedules.size(); row++) {
+            java.util.Arrays.fill(dayCount, 0);
+            for (int column = 0; column < schedules.getWidth(); column++) {
+                countDays(schedules.getCourse(row, column), dayCount);
+            }
+            total += calculateDispersion(dayCount);
+        }
+        return total / schedules.size();
+    }
+
     private double calculateScheduleDispersion(List<Course> schedule) {
         // Mide qué tan distribuidos están los horarios en la semana
         // Mejor puntuación para horarios más balanceados
         if (schedule.isEmpty()) return 0.0;
         
-        int[] dayCount = new int[7]; // Lun-Dom
-        String[] days = {"Lunes", "Martes", "Miercoles", "Jueves", "Viernes", "Sabado", "Domingo"};
-        
+        int[] dayCount = new int[Weekday.values().length]; // Lun-Dom
         for (Course course : schedule) {
-            course.getSchedules().forEach(ts -> {
-                for (int i = 0; i < days.length; i++) {
-                    if (ts.getDay().equalsIgnoreCase(days[i])) {
-                        dayCount[i]++;
-                        break;
-                    }
-                }
-            });
+            countDays(course, dayCount);
         }
-        
+        return calculateDispersion(dayCount);
+    }
+
+    private void countDays(Course course, int[] dayCount) {
+        for (TimeSlot ts : course.getSchedules()) {
+            dayCount[ts.getDayIndex()]++;
+        }
+    }
+
+    private double calculateDispersion(int[] dayCount) {
         // Calcular desviación estándar (menor es mejor distribución)
         double mean = java.util.Arrays.stream(dayCount).average().orElse(0.0);
         double variance = java.util.Arrays.stream(dayCount)
@@ -78,10 +123,28 @@ public class BenchmarkResult {
         return solutions;
     }
 
+    /**
+     * Mediana de los tiempos medidos, en milisegundos enteros
+     */
     public long getExecutionTimeMs() {
         return executionTimeMs;
     }
 
+    public double getMedianTimeMs() {
+        return percentileNs(50) / 1_000_000.0;
+    }
+
+    public double getP95TimeMs() {
+        return percentileNs(95) / 1_000_000.0;
+    }
+
+    /**
+     * Cantidad de ejecuciones medidas
+     */
+    public int getTrials() {
+        return trialTimesNs.length;
+    }
+
     public long getMemoryUsedBytes() {
         return memoryUsedBytes;
     }
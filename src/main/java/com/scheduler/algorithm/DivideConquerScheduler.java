@@ -1,12 +1,18 @@
 package com.scheduler.algorithm;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
 
+import com.scheduler.logic.ConflictGraph;
 import com.scheduler.logic.PriorityType;
 import com.scheduler.logic.ScheduleEvaluator;
+import com.scheduler.logic.ScheduleSet;
+import com.scheduler.logic.SearchMonitor;
 import com.scheduler.model.Course;
 
 /**
@@ -16,13 +22,44 @@ import com.scheduler.model.Course;
  * 1. DIVIDE: Dividir las materias en dos grupos
  * 2. CONQUER: Resolver cada subgrupo recursivamente
  * 3. COMBINE: Combinar soluciones verificando compatibilidad
+ *
+ * Al combinar no se llama al grafo por cada par de soluciones: las soluciones
+ * derechas se indexan por curso (un bitset de posiciones por curso) y para
+ * cada curso de la mitad izquierda se precalcula el bitset de soluciones
+ * derechas que bloquea. Las compatibles con una solución izquierda son el
+ * complemento del OR de los bitsets de sus cursos. Las soluciones izquierdas
+ * consecutivas comparten casi siempre sus primeros cursos, así que se reutiliza
+ * el OR del prefijo común y cada una suele pagar uno o dos OR de R/64 palabras.
+ * El costo sigue siendo proporcional a L·R/64 palabras (L y R soluciones de
+ * cada mitad) más el tamaño del resultado: no es lineal en los resultados
+ * cuando estos son pocos frente a los pares, pero cada par cuesta un bit.
+ * Agrupar por firmas de ocupación no sirve aquí porque casi todas las
+ * soluciones parciales tienen una firma distinta. Las soluciones izquierdas se
+ * reparten en tareas Fork/Join y los resultados se unen en orden, igual que la
+ * versión secuencial.
  */
 public class DivideConquerScheduler {
     
-    private List<Course> allCourses;
+    private static final long COMBINE_SPLIT_PAIRS = 1 << 20; // pares por tarea antes de dividir
+
+    private final ConflictGraph conflictGraph;
+    private final ForkJoinPool pool;
 
     public DivideConquerScheduler(List<Course> allCourses) {
-        this.allCourses = allCourses;
+        this(new ConflictGraph(allCourses));
+    }
+
+    public DivideConquerScheduler(ConflictGraph conflictGraph) {
+        this(conflictGraph, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param conflictGraph grafo de conflictos del catálogo
+     * @param pool pool de hilos donde se reparte la combinación
+     */
+    public DivideConquerScheduler(ConflictGraph conflictGraph, ForkJoinPool pool) {
+        this.conflictGraph = conflictGraph;
+        this.pool = pool;
     }
 
     public List<List<Course>> generateSchedules(List<String> desiredSubjects) {
@@ -30,13 +67,21 @@ public class DivideConquerScheduler {
     }
 
     public List<List<Course>> generateSchedules(List<String> desiredSubjects, PriorityType priority) {
+        return generateSchedules(desiredSubjects, priority, new SearchMonitor());
+    }
+
+    /**
+     * @param monitor recibe las soluciones parciales combinadas de esta búsqueda y permite cancelarla
+     */
+    public List<List<Course>> generateSchedules(List<String> desiredSubjects, PriorityType priority,
+                                                SearchMonitor monitor) {
         if (desiredSubjects.isEmpty()) {
-            return new ArrayList<>();
+            ScheduleSet empty = new ScheduleSet(conflictGraph, 0);
+            empty.add(new int[0], 0); // el horario vacío, como en el backtracking
+            return empty;
         }
 
-        Map<String, List<Course>> coursesBySubject = allCourses.stream()
-                .filter(c -> desiredSubjects.contains(c.getSubject()))
-                .collect(Collectors.groupingBy(Course::getSubject));
+        Map<String, List<Course>> coursesBySubject = conflictGraph.groupBySubject(desiredSubjects);
 
         // Verificar que todas las materias existan
         for (String subject : desiredSubjects) {
@@ -45,22 +90,34 @@ public class DivideConquerScheduler {
             }
         }
 
-        List<List<Course>> schedules = divideAndConquer(desiredSubjects, coursesBySubject);
+        // Las soluciones parciales se manejan como arreglos de índices del grafo
+        Partials solutions = divideAndConquer(desiredSubjects, coursesBySubject, monitor);
+
+        ScheduleSet schedules = new ScheduleSet(conflictGraph, desiredSubjects.size());
+        int[] row = new int[solutions.width];
+        for (int i = 0; i < solutions.size; i++) {
+            System.arraycopy(solutions.indices, i * solutions.width, row, 0, row.length);
+            schedules.add(row, 0);
+        }
         return ScheduleEvaluator.sortSchedules(schedules, priority);
     }
 
-    private List<List<Course>> divideAndConquer(List<String> subjects, 
-                                                 Map<String, List<Course>> coursesBySubject) {
+    private Partials divideAndConquer(List<String> subjects,
+                                      Map<String, List<Course>> coursesBySubject, SearchMonitor monitor) {
+        monitor.visit();
+
         // Caso base: una sola materia
         if (subjects.size() == 1) {
-            String subject = subjects.get(0);
-            return coursesBySubject.get(subject).stream()
-                .map(course -> {
-                    List<Course> schedule = new ArrayList<>();
-                    schedule.add(course);
-                    return schedule;
-                })
-                .collect(Collectors.toList());
+            List<Course> courses = coursesBySubject.get(subjects.get(0));
+            int[] available = new int[courses.size()];
+            for (int i = 0; i < available.length; i++) {
+                available[i] = conflictGraph.indexOf(courses.get(i));
+            }
+            Partials solutions = new Partials(1, courses.size(), union(available, new int[0]));
+            for (int course : available) {
+                solutions.add(course);
+            }
+            return solutions;
         }
 
         // DIVIDE: Dividir en dos mitades
@@ -69,38 +126,277 @@ public class DivideConquerScheduler {
         List<String> rightSubjects = subjects.subList(mid, subjects.size());
 
         // CONQUER: Resolver recursivamente cada mitad
-        List<List<Course>> leftSolutions = divideAndConquer(leftSubjects, coursesBySubject);
-        List<List<Course>> rightSolutions = divideAndConquer(rightSubjects, coursesBySubject);
+        Partials leftSolutions = divideAndConquer(leftSubjects, coursesBySubject, monitor);
+        Partials rightSolutions = divideAndConquer(rightSubjects, coursesBySubject, monitor);
 
         // COMBINE: Combinar soluciones compatibles
-        return combine(leftSolutions, rightSolutions);
+        return combine(leftSolutions, rightSolutions, monitor);
     }
 
-    private List<List<Course>> combine(List<List<Course>> leftSolutions, 
-                                       List<List<Course>> rightSolutions) {
-        List<List<Course>> combined = new ArrayList<>();
+    private Partials combine(Partials leftSolutions, Partials rightSolutions, SearchMonitor monitor) {
+        int width = leftSolutions.width + rightSolutions.width;
+        int[] available = union(leftSolutions.courses, rightSolutions.courses);
+        if (leftSolutions.size == 0 || rightSolutions.size == 0) {
+            return new Partials(width, 0, available);
+        }
+        BlockIndex index = new BlockIndex(leftSolutions, rightSolutions);
 
-        for (List<Course> left : leftSolutions) {
-            for (List<Course> right : rightSolutions) {
-                if (!hasConflict(left, right)) {
-                    List<Course> merged = new ArrayList<>(left);
-                    merged.addAll(right);
-                    combined.add(merged);
-                }
-            }
+        // Un rango de soluciones izquierdas por tarea, con suficientes pares cada uno
+        int tasks = taskCount(leftSolutions.size, (long) leftSolutions.size * rightSolutions.size);
+        List<CombineTask> subtasks = new ArrayList<>(tasks);
+        for (int t = 0; t < tasks; t++) {
+            int from = (int) ((long) leftSolutions.size * t / tasks);
+            int to = (int) ((long) leftSolutions.size * (t + 1) / tasks);
+            subtasks.add(new CombineTask(leftSolutions, rightSolutions, index, from, to, monitor));
         }
+        runAll(subtasks);
 
+        // UNIR: en el orden de los rangos para conservar el orden secuencial
+        int total = 0;
+        for (CombineTask task : subtasks) {
+            total += task.join().size;
+        }
+        Partials combined = new Partials(width, total, available);
+        for (CombineTask task : subtasks) {
+            combined.addAll(task.join());
+        }
         return combined;
     }
 
-    private boolean hasConflict(List<Course> schedule1, List<Course> schedule2) {
-        for (Course c1 : schedule1) {
-            for (Course c2 : schedule2) {
-                if (c1.overlaps(c2)) {
-                    return true;
+    // Tareas para repartir los pares dados, sin superar la cantidad de soluciones izquierdas
+    private static int taskCount(int items, long pairs) {
+        return (int) Math.max(1, Math.min(items, (pairs + COMBINE_SPLIT_PAIRS - 1) / COMBINE_SPLIT_PAIRS));
+    }
+
+    /**
+     * Ejecuta las tareas en el pool (o directamente si es una sola) y espera a que terminen
+     */
+    private <T extends RecursiveTask<?>> void runAll(List<T> subtasks) {
+        if (subtasks.size() == 1) {
+            subtasks.get(0).invoke();
+            return;
+        }
+        pool.invoke(new RecursiveTask<Void>() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected Void compute() {
+                ForkJoinTask.invokeAll(subtasks);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Unión ordenada y sin repetidos de dos conjuntos de índices del grafo
+     */
+    private static int[] union(int[] a, int[] b) {
+        a = a.clone();
+        b = b.clone();
+        Arrays.sort(a);
+        Arrays.sort(b);
+        int[] merged = new int[a.length + b.length];
+        int i = 0;
+        int j = 0;
+        int size = 0;
+        while (i < a.length || j < b.length) {
+            int next = j == b.length || (i < a.length && a[i] <= b[j]) ? a[i] : b[j];
+            while (i < a.length && a[i] == next) i++;
+            while (j < b.length && b[j] == next) j++;
+            merged[size++] = next;
+        }
+        return Arrays.copyOf(merged, size);
+    }
+
+    /**
+     * Soluciones parciales en un único arreglo de índices del grafo, una fila
+     * por solución, junto con los cursos que pueden aparecer en ellas
+     */
+    private static class Partials {
+        final int width;
+        final int[] courses; // índices del grafo de los cursos de sus materias, en orden creciente
+        int[] indices;
+        int size;
+
+        Partials(int width, int capacity, int[] courses) {
+            this.width = width;
+            this.courses = courses;
+            this.indices = new int[Math.max(1, capacity) * width];
+        }
+
+        void add(int index) {
+            ensureCapacity(size + 1);
+            indices[size++] = index;
+        }
+
+        void addAll(Partials other) {
+            ensureCapacity(size + other.size);
+            System.arraycopy(other.indices, 0, indices, size * width, other.size * width);
+            size += other.size;
+        }
+
+        void ensureCapacity(int rows) {
+            if ((long) rows * width > indices.length) {
+                int capacity = Math.max(rows, indices.length / Math.max(1, width) * 2);
+                indices = Arrays.copyOf(indices, capacity * width);
+            }
+        }
+
+        /**
+         * Posición de un curso en {@link #courses}
+         */
+        int localIndex(int course) {
+            return Arrays.binarySearch(courses, course);
+        }
+    }
+
+    /**
+     * Para cada curso que puede aparecer a la izquierda, el bitset de posiciones
+     * de las soluciones derechas con las que choca (null si no choca con
+     * ninguna). Los arreglos se dimensionan por los cursos de las materias de
+     * cada mitad, no por el catálogo
+     */
+    private class BlockIndex {
+        final int words;        // palabras de un bitset de soluciones derechas
+        final long[][] blocked; // por posición en leftSolutions.courses
+
+        BlockIndex(Partials leftSolutions, Partials rightSolutions) {
+            this.words = (rightSolutions.size + 63) >>> 6;
+
+            // Mitad derecha: curso -> posiciones de las soluciones que lo usan
+            long[][] positions = new long[rightSolutions.courses.length][];
+            for (int row = 0; row < rightSolutions.size; row++) {
+                for (int i = row * rightSolutions.width; i < (row + 1) * rightSolutions.width; i++) {
+                    int course = rightSolutions.localIndex(rightSolutions.indices[i]);
+                    if (positions[course] == null) {
+                        positions[course] = new long[words];
+                    }
+                    positions[course][row >>> 6] |= 1L << row;
+                }
+            }
+
+            this.blocked = new long[leftSolutions.courses.length][];
+            for (int course = 0; course < blocked.length; course++) {
+                for (int other = 0; other < positions.length; other++) {
+                    if (positions[other] == null
+                            || !conflictGraph.conflicts(leftSolutions.courses[course], rightSolutions.courses[other])) {
+                        continue;
+                    }
+                    if (blocked[course] == null) {
+                        blocked[course] = new long[words];
+                    }
+                    long[] from = positions[other];
+                    long[] to = blocked[course];
+                    for (int w = 0; w < words; w++) {
+                        to[w] |= from[w];
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Combina un rango de soluciones izquierdas con todas las derechas
+     */
+    private static class CombineTask extends RecursiveTask<Partials> {
+        private static final long serialVersionUID = 1L;
+
+        private final Partials leftSolutions;
+        private final Partials rightSolutions;
+        private final BlockIndex index;
+        private final int from;
+        private final int to;
+        private final SearchMonitor monitor;
+
+        CombineTask(Partials leftSolutions, Partials rightSolutions, BlockIndex index,
+                    int from, int to, SearchMonitor monitor) {
+            this.leftSolutions = leftSolutions;
+            this.rightSolutions = rightSolutions;
+            this.index = index;
+            this.from = from;
+            this.to = to;
+            this.monitor = monitor;
+        }
+
+        @Override
+        protected Partials compute() {
+            int leftWidth = leftSolutions.width;
+            int rightWidth = rightSolutions.width;
+            int width = leftWidth + rightWidth;
+            long[][] blockedPrefix = new long[leftWidth + 1][index.words];
+
+            // Primera pasada: contar para reservar el arreglo de una sola vez
+            int total = 0;
+            for (int left = from; left < to; left++) {
+                monitor.visit();
+                long[] blocked = blockedBy(left, blockedPrefix);
+                for (int w = 0; w < index.words; w++) {
+                    total += Long.bitCount(compatibleWord(blocked, w));
                 }
             }
+            Partials combined = new Partials(width, total, null);
+
+            int[] out = combined.indices;
+            int offset = 0;
+            for (int left = from; left < to; left++) {
+                long[] blocked = blockedBy(left, blockedPrefix);
+
+                // Emitir en el orden original de las soluciones derechas
+                int leftOffset = left * leftWidth;
+                for (int w = 0; w < index.words; w++) {
+                    long bits = compatibleWord(blocked, w);
+                    while (bits != 0) {
+                        int right = (w << 6) + Long.numberOfTrailingZeros(bits);
+                        bits &= bits - 1;
+                        System.arraycopy(leftSolutions.indices, leftOffset, out, offset, leftWidth);
+                        System.arraycopy(rightSolutions.indices, right * rightWidth, out, offset + leftWidth, rightWidth);
+                        offset += width;
+                    }
+                }
+            }
+            combined.size = total;
+            return combined;
+        }
+
+        /**
+         * Soluciones derechas bloqueadas por alguno de los cursos de una solución
+         * izquierda. blockedPrefix[k] guarda el OR de los primeros k cursos de la
+         * fila anterior del rango; solo se recalcula desde el primer curso que cambia
+         */
+        private long[] blockedBy(int left, long[][] blockedPrefix) {
+            int leftWidth = leftSolutions.width;
+            int[] indices = leftSolutions.indices;
+            int leftOffset = left * leftWidth;
+            int common = 0;
+            if (left > from) {
+                int previous = leftOffset - leftWidth;
+                while (common < leftWidth && indices[leftOffset + common] == indices[previous + common]) {
+                    common++;
+                }
+            }
+            for (int k = common; k < leftWidth; k++) {
+                long[] blocked = index.blocked[leftSolutions.localIndex(indices[leftOffset + k])];
+                long[] before = blockedPrefix[k];
+                long[] after = blockedPrefix[k + 1];
+                if (blocked == null) {
+                    System.arraycopy(before, 0, after, 0, index.words);
+                } else {
+                    for (int w = 0; w < index.words; w++) {
+                        after[w] = before[w] | blocked[w];
+                    }
+                }
+            }
+            return blockedPrefix[leftWidth];
+        }
+
+        // Palabra w del complemento de los bloqueos, sin los bits posteriores a la última solución derecha
+        private long compatibleWord(long[] blocked, int w) {
+            long bits = ~blocked[w];
+            int lastBits = rightSolutions.size & 63;
+            if (w == index.words - 1 && lastBits != 0) {
+                bits &= (1L << lastBits) - 1;
+            }
+            return bits;
         }
-        return false;
     }
 }
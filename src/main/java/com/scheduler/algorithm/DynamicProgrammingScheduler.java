@@ -2,32 +2,46 @@ package com.scheduler.algorithm;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
+import com.scheduler.logic.ConflictGraph;
 import com.scheduler.logic.PriorityType;
 import com.scheduler.logic.ScheduleEvaluator;
+import com.scheduler.logic.ScheduleSet;
+import com.scheduler.logic.ScheduleState;
+import com.scheduler.logic.SearchMonitor;
 import com.scheduler.model.Course;
+import com.scheduler.model.OccupancyMask;
 
 /**
  * Implementación de Programación Dinámica para planificación de horarios
- * 
+ *
  * Estrategia:
- * 1. Estado: dp[i][mask] = lista de horarios válidos usando las primeras i materias
- *    y grupos específicos (representados por mask)
+ * 1. Estado: (materia i, ocupación semanal recortada a los minutos que usan las
+ *    materias i..n-1). Es lo único del horario parcial que influye en cómo se
+ *    puede completar, así que prefijos distintos comparten subproblema
  * 2. Transición: Para cada materia, probar cada grupo compatible
- * 3. Memorización: Guardar subproblemas para evitar recálculos
+ * 3. Memorización: Cada subproblema guarda sus horarios como sufijos enlazados
+ *    (grupo elegido + sufijos que lo siguen); quien lo reutiliza comparte esas
+ *    colas sin copiarlas ni volver a verificar sus conflictos
+ *
+ * Si alguna máscara de ocupación es aproximada la ocupación no alcanza para
+ * decidir los conflictos y se resuelve sin memorización.
  */
 public class DynamicProgrammingScheduler {
-    
-    private List<Course> allCourses;
-    private Map<String, List<List<Course>>> memo;
+
+    private final ConflictGraph conflictGraph;
 
     public DynamicProgrammingScheduler(List<Course> allCourses) {
-        this.allCourses = allCourses;
-        this.memo = new HashMap<>();
+        this(new ConflictGraph(allCourses));
+    }
+
+    public DynamicProgrammingScheduler(ConflictGraph conflictGraph) {
+        this.conflictGraph = conflictGraph;
     }
 
     public List<List<Course>> generateSchedules(List<String> desiredSubjects) {
@@ -35,11 +49,15 @@ public class DynamicProgrammingScheduler {
     }
 
     public List<List<Course>> generateSchedules(List<String> desiredSubjects, PriorityType priority) {
-        memo.clear();
-        
-        Map<String, List<Course>> coursesBySubject = allCourses.stream()
-                .filter(c -> desiredSubjects.contains(c.getSubject()))
-                .collect(Collectors.groupingBy(Course::getSubject));
+        return generateSchedules(desiredSubjects, priority, new SearchMonitor());
+    }
+
+    /**
+     * @param monitor recibe los subproblemas resueltos de esta búsqueda y permite cancelarla
+     */
+    public List<List<Course>> generateSchedules(List<String> desiredSubjects, PriorityType priority,
+                                                SearchMonitor monitor) {
+        Map<String, List<Course>> coursesBySubject = conflictGraph.groupBySubject(desiredSubjects);
 
         // Verificar que todas las materias existan
         for (String subject : desiredSubjects) {
@@ -48,81 +66,121 @@ public class DynamicProgrammingScheduler {
             }
         }
 
-        List<List<Course>> schedules = dpSolve(desiredSubjects, 0, new ArrayList<>(), coursesBySubject);
-        return ScheduleEvaluator.sortSchedules(schedules, priority);
+        List<List<Course>> options = new ArrayList<>();
+        for (String subject : desiredSubjects) {
+            options.add(coursesBySubject.get(subject));
+        }
+        Subproblems subproblems = new Subproblems(options, monitor);
+
+        // Recorrer los sufijos compartidos armando cada horario, con puntaje incremental
+        ScheduleSet schedules = new ScheduleSet(conflictGraph, options.size());
+        if (options.isEmpty()) {
+            schedules.add(new int[0], 0);
+        } else {
+            Suffixes suffixes = dpSolve(subproblems, 0, OccupancyMask.newAccumulator(), new ArrayList<>());
+            subproblems.memo.clear();
+            emit(suffixes, 0, new int[options.size()], new ScheduleState(options), priority, schedules, monitor);
+        }
+        return ScheduleEvaluator.sortSchedules(schedules);
+    }
+
+    private void emit(Suffixes suffixes, int index, int[] row, ScheduleState state,
+                      PriorityType priority, ScheduleSet schedules, SearchMonitor monitor) {
+        monitor.visit();
+        for (int k = 0; k < suffixes.courses.length; k++) {
+            Course course = suffixes.courses[k];
+            row[index] = conflictGraph.indexOf(course);
+            state.push(course);
+            if (suffixes.tails[k] == null) {
+                schedules.add(row, state.score(priority));
+                if (monitor.wantsPreview()) {
+                    List<Course> schedule = new ArrayList<>(row.length);
+                    for (int courseIndex : row) {
+                        schedule.add(conflictGraph.getCourse(courseIndex));
+                    }
+                    monitor.preview(schedule);
+                }
+            } else {
+                emit(suffixes.tails[k], index + 1, row, state, priority, schedules, monitor);
+            }
+            state.pop();
+        }
     }
 
     /**
      * Solución con programación dinámica usando memorización
-     * 
-     * @param subjects Lista de materias
+     *
+     * @param subproblems grupos por materia, minutos relevantes de cada nivel y estado de la búsqueda
      * @param index Índice actual de materia
-     * @param currentSchedule Horario en construcción
-     * @param coursesBySubject Mapa de materias a cursos
-     * @return Lista de todos los horarios válidos
+     * @param occupied ocupación de los cursos ya elegidos
+     * @param currentSchedule Horario en construcción (solo se usa con máscaras aproximadas)
+     * @return todos los sufijos que completan el prefijo desde la materia index
      */
-    private List<List<Course>> dpSolve(List<String> subjects, int index, 
-                                       List<Course> currentSchedule,
-                                       Map<String, List<Course>> coursesBySubject) {
-        // Caso base: Todas las materias procesadas
-        if (index == subjects.size()) {
-            List<List<Course>> result = new ArrayList<>();
-            result.add(new ArrayList<>(currentSchedule));
-            return result;
-        }
-
-        // Crear clave para memorización
-        String memoKey = createMemoKey(index, currentSchedule);
-        
+    private Suffixes dpSolve(Subproblems subproblems, int index, long[] occupied,
+                             List<Course> currentSchedule) {
+        subproblems.monitor.visit();
+
         // Verificar si ya calculamos este estado
-        if (memo.containsKey(memoKey)) {
-            return memo.get(memoKey);
+        MemoKey memoKey = null;
+        if (subproblems.exactMasks) {
+            memoKey = new MemoKey(index, occupied, subproblems.relevant[index]);
+            Suffixes cached = subproblems.memo.get(memoKey);
+            if (cached != null) {
+                return cached;
+            }
         }
 
-        List<List<Course>> allSolutions = new ArrayList<>();
-        String currentSubject = subjects.get(index);
-        List<Course> options = coursesBySubject.get(currentSubject);
+        boolean lastSubject = index == subproblems.options.size() - 1;
+        List<Course> courses = new ArrayList<>();
+        List<Suffixes> tails = new ArrayList<>();
 
         // Probar cada opción de grupo para la materia actual
-        for (Course option : options) {
-            if (!hasConflict(currentSchedule, option)) {
-                // Agregar curso actual
+        for (Course option : subproblems.options.get(index)) {
+            if (!hasConflict(subproblems.exactMasks, occupied, currentSchedule, option)) {
+                if (lastSubject) {
+                    courses.add(option);
+                    tails.add(null);
+                    continue;
+                }
+                long[] next = occupied.clone();
+                option.getOccupancy().orInto(next);
                 currentSchedule.add(option);
-                
+
                 // Resolver recursivamente para las siguientes materias
-                List<List<Course>> subSolutions = dpSolve(subjects, index + 1, 
-                                                          currentSchedule, coursesBySubject);
-                allSolutions.addAll(subSolutions);
-                
+                Suffixes subSolutions = dpSolve(subproblems, index + 1, next, currentSchedule);
+                if (subSolutions.courses.length > 0) {
+                    courses.add(option);
+                    tails.add(subSolutions);
+                }
+
                 // Backtrack
                 currentSchedule.remove(currentSchedule.size() - 1);
             }
         }
 
+        Suffixes allSolutions = new Suffixes(courses.toArray(new Course[0]), tails.toArray(new Suffixes[0]));
+
         // Guardar en memoria
-        memo.put(memoKey, allSolutions);
+        if (memoKey != null) {
+            subproblems.memo.put(memoKey, allSolutions);
+        }
         return allSolutions;
     }
 
-    /**
-     * Crea una clave única para el estado actual (para memorización)
-     */
-    private String createMemoKey(int index, List<Course> schedule) {
-        StringBuilder key = new StringBuilder();
-        key.append(index).append(":");
-        
-        // Incluir IDs de cursos ordenados para consistencia
-        schedule.stream()
-            .map(Course::getId)
-            .sorted()
-            .forEach(id -> key.append(id).append(","));
-        
-        return key.toString();
+    private boolean hasConflict(boolean exactMasks, long[] occupied, List<Course> currentSchedule,
+                                Course newCourse) {
+        if (!newCourse.getOccupancy().intersects(occupied)) {
+            return false;
+        }
+        if (exactMasks) {
+            return true;
+        }
+        return hasConflict(currentSchedule, newCourse);
     }
 
     private boolean hasConflict(List<Course> currentSchedule, Course newCourse) {
         for (Course existing : currentSchedule) {
-            if (existing.overlaps(newCourse)) {
+            if (conflictGraph.conflicts(existing, newCourse)) {
                 return true;
             }
         }
@@ -130,12 +188,19 @@ public class DynamicProgrammingScheduler {
     }
 
     /**
-     * Versión optimizada usando bitmasking (para pocos cursos)
+     * Versión por capas: en cada materia los prefijos se agrupan por su estado
+     * (ocupación recortada a los minutos de las materias restantes), de modo que
+     * el conflicto de cada grupo se verifica una vez por estado y no por prefijo
      */
     public List<List<Course>> generateSchedulesOptimized(List<String> desiredSubjects) {
-        Map<String, List<Course>> coursesBySubject = allCourses.stream()
-                .filter(c -> desiredSubjects.contains(c.getSubject()))
-                .collect(Collectors.groupingBy(Course::getSubject));
+        return generateSchedulesOptimized(desiredSubjects, new SearchMonitor());
+    }
+
+    /**
+     * @param monitor recibe los estados procesados y permite cancelar la búsqueda
+     */
+    public List<List<Course>> generateSchedulesOptimized(List<String> desiredSubjects, SearchMonitor monitor) {
+        Map<String, List<Course>> coursesBySubject = conflictGraph.groupBySubject(desiredSubjects);
 
         for (String subject : desiredSubjects) {
             if (!coursesBySubject.containsKey(subject)) {
@@ -143,33 +208,42 @@ public class DynamicProgrammingScheduler {
             }
         }
 
-        // DP con tabla: dp[materia][máscara de grupos seleccionados]
-        List<String> subjectList = new ArrayList<>(desiredSubjects);
-        Map<Integer, List<List<Course>>> dp = new HashMap<>();
-        
-        // Inicializar: sin materias seleccionadas
-        dp.put(0, Arrays.asList(new ArrayList<>()));
+        List<List<Course>> options = new ArrayList<>();
+        for (String subject : desiredSubjects) {
+            options.add(coursesBySubject.get(subject));
+        }
+        Subproblems subproblems = new Subproblems(options, monitor);
+
+        // dp: estado -> prefijos que llegan a él (cada prefijo enlazado hacia atrás)
+        Map<MemoKey, Layer> dp = new LinkedHashMap<>();
+        Layer initial = new Layer(OccupancyMask.newAccumulator());
+        initial.prefixes.add(null);
+        dp.put(new MemoKey(0, initial.occupied, subproblems.relevant[0]), initial);
 
         // Procesar cada materia
-        for (int i = 0; i < subjectList.size(); i++) {
-            String subject = subjectList.get(i);
-            List<Course> options = coursesBySubject.get(subject);
-            Map<Integer, List<List<Course>>> newDp = new HashMap<>();
-
-            for (Map.Entry<Integer, List<List<Course>>> entry : dp.entrySet()) {
-                for (List<Course> prevSchedule : entry.getValue()) {
-                    // Probar cada grupo de la materia actual
-                    for (int j = 0; j < options.size(); j++) {
-                        Course option = options.get(j);
-                        
-                        if (!hasConflict(prevSchedule, option)) {
-                            List<Course> newSchedule = new ArrayList<>(prevSchedule);
-                            newSchedule.add(option);
-                            
-                            int newMask = entry.getKey() | (1 << (i * 4 + j));
-                            newDp.computeIfAbsent(newMask, k -> new ArrayList<>())
-                                  .add(newSchedule);
+        for (int i = 0; i < options.size(); i++) {
+            Map<MemoKey, Layer> newDp = new LinkedHashMap<>();
+
+            for (Layer layer : dp.values()) {
+                monitor.visit();
+                // Probar cada grupo de la materia actual
+                for (Course option : options.get(i)) {
+                    boolean sharedConflict = option.getOccupancy().intersects(layer.occupied);
+                    if (sharedConflict && subproblems.exactMasks) {
+                        continue;
+                    }
+                    long[] next = layer.occupied.clone();
+                    option.getOccupancy().orInto(next);
+                    MemoKey key = new MemoKey(i + 1, next, subproblems.relevant[i + 1]);
+                    int courseIndex = conflictGraph.indexOf(option);
+
+                    for (Prefix prefix : layer.prefixes) {
+                        // Con máscaras aproximadas se confirma el conflicto prefijo por prefijo
+                        if (sharedConflict && hasConflict(toSchedule(prefix), option)) {
+                            continue;
                         }
+                        newDp.computeIfAbsent(key, k -> new Layer(next))
+                             .prefixes.add(new Prefix(courseIndex, prefix));
                     }
                 }
             }
@@ -178,10 +252,121 @@ public class DynamicProgrammingScheduler {
         }
 
         // Recolectar todas las soluciones completas
-        return dp.values().stream()
-            .flatMap(List::stream)
-            .filter(schedule -> schedule.size() == subjectList.size())
-            .distinct()
-            .collect(Collectors.toList());
+        List<List<Course>> schedules = new ArrayList<>();
+        for (Layer layer : dp.values()) {
+            for (Prefix prefix : layer.prefixes) {
+                schedules.add(toSchedule(prefix));
+            }
+        }
+        return schedules;
+    }
+
+    // Convierte un prefijo enlazado hacia atrás (último curso primero) en un horario
+    private List<Course> toSchedule(Prefix prefix) {
+        List<Course> schedule = new ArrayList<>();
+        for (Prefix node = prefix; node != null; node = node.previous) {
+            schedule.add(conflictGraph.getCourse(node.courseIndex));
+        }
+        Collections.reverse(schedule);
+        return schedule;
+    }
+
+    /**
+     * Estado de una búsqueda: grupos por materia, para cada nivel los minutos que
+     * usan las materias desde ese nivel en adelante, la tabla de memorización y
+     * el monitor. Se crea en cada llamada, así que una instancia del planificador
+     * puede atender varias búsquedas a la vez
+     */
+    private static class Subproblems {
+        final List<List<Course>> options;
+        final long[][] relevant;
+        final boolean exactMasks;
+        final Map<MemoKey, Suffixes> memo = new HashMap<>();
+        final SearchMonitor monitor;
+
+        Subproblems(List<List<Course>> options, SearchMonitor monitor) {
+            this.options = options;
+            this.monitor = monitor;
+            this.relevant = new long[options.size() + 1][OccupancyMask.WORDS];
+            for (int i = options.size() - 1; i >= 0; i--) {
+                System.arraycopy(relevant[i + 1], 0, relevant[i], 0, OccupancyMask.WORDS);
+                for (Course course : options.get(i)) {
+                    course.getOccupancy().orInto(relevant[i]);
+                }
+            }
+            this.exactMasks = options.stream()
+                    .flatMap(List::stream)
+                    .allMatch(c -> c.getOccupancy().isExact());
+        }
+    }
+
+    /**
+     * Horarios que completan un estado: cada curso posible de la materia actual
+     * junto con los sufijos que lo siguen (null en la última materia). Los
+     * estados repetidos devuelven la misma instancia, así que las colas se comparten
+     */
+    private static class Suffixes {
+        final Course[] courses;
+        final Suffixes[] tails;
+
+        Suffixes(Course[] courses, Suffixes[] tails) {
+            this.courses = courses;
+            this.tails = tails;
+        }
+    }
+
+    /**
+     * Nodo de un prefijo enlazado hacia atrás; los prefijos comparten sus comienzos
+     */
+    private static class Prefix {
+        final int courseIndex;
+        final Prefix previous;
+
+        Prefix(int courseIndex, Prefix previous) {
+            this.courseIndex = courseIndex;
+            this.previous = previous;
+        }
+    }
+
+    /**
+     * Prefijos que llegan a un mismo estado en la versión por capas
+     */
+    private static class Layer {
+        final long[] occupied;
+        final List<Prefix> prefixes = new ArrayList<>();
+
+        Layer(long[] occupied) {
+            this.occupied = occupied;
+        }
+    }
+
+    /**
+     * Clave de memorización: materia actual y ocupación recortada a los minutos relevantes
+     */
+    private static class MemoKey {
+        private final int index;
+        private final long[] words;
+        private final int hash;
+
+        MemoKey(int index, long[] occupied, long[] relevant) {
+            this.index = index;
+            this.words = new long[occupied.length];
+            for (int i = 0; i < words.length; i++) {
+                words[i] = occupied[i] & relevant[i];
+            }
+            this.hash = 31 * index + Arrays.hashCode(words);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof MemoKey)) return false;
+            MemoKey key = (MemoKey) other;
+            return index == key.index && Arrays.equals(words, key.words);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
     }
 }
@@ -0,0 +1,307 @@
+package com.scheduler.algorithm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import com.scheduler.logic.ConflictGraph;
+import com.scheduler.logic.PriorityType;
+import com.scheduler.logic.ScheduleEvaluator;
+import com.scheduler.logic.ScheduleSet;
+import com.scheduler.logic.SearchMonitor;
+import com.scheduler.model.Course;
+
+/**
+ * Backtracking con orden dinámico de materias (MRV) y forward checking
+ *
+ * Estrategia:
+ * 1. Cada materia tiene un dominio: el conjunto (bitset) de sus grupos que aún
+ *    no chocan con los ya elegidos
+ * 2. En cada nivel se asigna la materia con menos grupos disponibles (MRV); en
+ *    caso de empate, la que más choques tiene con las demás materias
+ * 3. Al elegir un grupo se quitan de los demás dominios los grupos que chocan
+ *    con él; si algún dominio queda vacío se retrocede de inmediato
+ *
+ * Así los callejones sin salida se detectan cerca de la raíz. El resultado
+ * contiene los mismos horarios, en el mismo orden, que
+ * {@link com.scheduler.logic.Scheduler}: cada horario se guarda en el orden de
+ * las materias pedidas y al final se reordena como lo haría el recorrido en ese orden.
+ */
+public class ForwardCheckingScheduler {
+
+    private final ConflictGraph conflictGraph;
+
+    public ForwardCheckingScheduler(List<Course> allCourses) {
+        this(new ConflictGraph(allCourses));
+    }
+
+    public ForwardCheckingScheduler(ConflictGraph conflictGraph) {
+        this.conflictGraph = conflictGraph;
+    }
+
+    public ScheduleSet generateSchedules(List<String> desiredSubjects) {
+        return generateSchedules(desiredSubjects, PriorityType.FEWER_DAYS);
+    }
+
+    public ScheduleSet generateSchedules(List<String> desiredSubjects, PriorityType priority) {
+        return generateSchedules(desiredSubjects, priority, new SearchMonitor());
+    }
+
+    /**
+     * @param monitor recibe los nodos explorados de esta búsqueda y permite cancelarla
+     */
+    public ScheduleSet generateSchedules(List<String> desiredSubjects, PriorityType priority,
+                                         SearchMonitor monitor) {
+        Map<String, List<Course>> coursesBySubject = conflictGraph.groupBySubject(desiredSubjects);
+        int subjects = desiredSubjects.size();
+        ScheduleSet result = new ScheduleSet(conflictGraph, subjects);
+
+        // Verificar que todas las materias existan
+        for (String subject : desiredSubjects) {
+            if (!coursesBySubject.containsKey(subject) || coursesBySubject.get(subject).isEmpty()) {
+                return result;
+            }
+        }
+        if (subjects == 0) {
+            result.add(new int[0], 0); // el horario vacío, como en el backtracking
+            return result;
+        }
+
+        Search search = new Search(desiredSubjects, coursesBySubject, monitor);
+        search.backtrack(0, result);
+
+        return ScheduleEvaluator.sortSchedules(inSubjectOrder(result, search), priority);
+    }
+
+    /**
+     * Ordena los horarios como los enumeraría el backtracking en el orden de las
+     * materias: lexicográficamente por la posición del grupo en cada materia
+     *
+     * Cada horario se codifica como un número en base mixta (la posición del grupo
+     * es el dígito de su materia), de modo que basta ordenar un long[]. Si el
+     * número no entra en 63 bits se compara fila por fila.
+     */
+    private ScheduleSet inSubjectOrder(ScheduleSet schedules, Search search) {
+        int width = schedules.getWidth();
+        int[][] groupIndices = search.groupIndices;
+        ScheduleSet sorted = new ScheduleSet(conflictGraph, width);
+        int[] row = new int[width];
+
+        long[] radix = new long[width];
+        try {
+            long weight = 1;
+            for (int column = width - 1; column >= 0; column--) {
+                radix[column] = weight;
+                weight = Math.multiplyExact(weight, groupIndices[column].length);
+            }
+        } catch (ArithmeticException overflow) {
+            return inSubjectOrderByRows(schedules);
+        }
+
+        long[] keys = new long[schedules.size()];
+        for (int i = 0; i < keys.length; i++) {
+            long key = 0;
+            for (int column = 0; column < width; column++) {
+                key += search.positionOf(column, schedules.getCourseIndex(i, column)) * radix[column];
+            }
+            keys[i] = key;
+        }
+        Arrays.sort(keys);
+
+        for (long key : keys) {
+            for (int column = 0; column < width; column++) {
+                row[column] = groupIndices[column][(int) (key / radix[column])];
+                key %= radix[column];
+            }
+            sorted.add(row, 0);
+        }
+        return sorted;
+    }
+
+    // Los índices del grafo siguen el orden del catálogo, igual que los grupos de cada materia
+    private ScheduleSet inSubjectOrderByRows(ScheduleSet schedules) {
+        int width = schedules.getWidth();
+        Integer[] order = new Integer[schedules.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> {
+            for (int column = 0; column < width; column++) {
+                int cmp = Integer.compare(schedules.getCourseIndex(a, column), schedules.getCourseIndex(b, column));
+                if (cmp != 0) return cmp;
+            }
+            return 0;
+        });
+
+        ScheduleSet sorted = new ScheduleSet(conflictGraph, width);
+        int[] row = new int[width];
+        for (int position : order) {
+            for (int column = 0; column < width; column++) {
+                row[column] = schedules.getCourseIndex(position, column);
+            }
+            sorted.add(row, 0);
+        }
+        return sorted;
+    }
+
+    /**
+     * Estado de una búsqueda: dominios por nivel y conflictos entre grupos
+     */
+    private class Search {
+        private final int subjects;
+        private final int[][] groupIndices;    // [materia][grupo] = índice en el grafo
+        private final long[][][][] conflicts;  // [materia][grupo][otra materia] = grupos de la otra que chocan
+        private final long[][][] domains;      // [nivel][materia] = grupos aún disponibles
+        private final int[] degree;            // [materia] = pares de grupos en conflicto con otras materias
+        private final boolean[] assigned;
+        private final int[] chosen;            // índice en el grafo del grupo elegido por materia
+        private final SearchMonitor monitor;
+
+        Search(List<String> desiredSubjects, Map<String, List<Course>> coursesBySubject,
+               SearchMonitor monitor) {
+            this.monitor = monitor;
+            this.subjects = desiredSubjects.size();
+            this.groupIndices = new int[subjects][];
+            for (int s = 0; s < subjects; s++) {
+                List<Course> groups = coursesBySubject.get(desiredSubjects.get(s));
+                groupIndices[s] = new int[groups.size()];
+                for (int g = 0; g < groups.size(); g++) {
+                    groupIndices[s][g] = conflictGraph.indexOf(groups.get(g));
+                }
+            }
+
+            this.conflicts = new long[subjects][][][];
+            this.degree = new int[subjects];
+            for (int s = 0; s < subjects; s++) {
+                conflicts[s] = new long[groupIndices[s].length][subjects][];
+                for (int g = 0; g < groupIndices[s].length; g++) {
+                    for (int t = 0; t < subjects; t++) {
+                        long[] row = newDomain(t, false);
+                        if (t != s) {
+                            for (int h = 0; h < groupIndices[t].length; h++) {
+                                if (conflictGraph.conflicts(groupIndices[s][g], groupIndices[t][h])) {
+                                    row[h >>> 6] |= 1L << h;
+                                }
+                            }
+                        }
+                        conflicts[s][g][t] = row;
+                        degree[s] += count(row);
+                    }
+                }
+            }
+
+            this.domains = new long[subjects + 1][subjects][];
+            for (int level = 0; level <= subjects; level++) {
+                for (int s = 0; s < subjects; s++) {
+                    domains[level][s] = newDomain(s, level == 0);
+                }
+            }
+            this.assigned = new boolean[subjects];
+            this.chosen = new int[subjects];
+        }
+
+        private long[] newDomain(int subject, boolean full) {
+            int groups = groupIndices[subject].length;
+            long[] domain = new long[(groups + 63) >>> 6];
+            if (full) {
+                for (int g = 0; g < groups; g++) {
+                    domain[g >>> 6] |= 1L << g;
+                }
+            }
+            return domain;
+        }
+
+        void backtrack(int level, ScheduleSet result) {
+            monitor.visit();
+
+            // Caso base: todas las materias asignadas
+            if (level == subjects) {
+                result.add(chosen, 0);
+                if (monitor.wantsPreview()) {
+                    List<Course> schedule = new ArrayList<>(subjects);
+                    for (int courseIndex : chosen) {
+                        schedule.add(conflictGraph.getCourse(courseIndex));
+                    }
+                    monitor.preview(schedule);
+                }
+                return;
+            }
+
+            // MRV: la materia sin asignar con menos grupos disponibles
+            long[][] current = domains[level];
+            int subject = -1;
+            int best = Integer.MAX_VALUE;
+            for (int s = 0; s < subjects; s++) {
+                if (!assigned[s]) {
+                    int size = count(current[s]);
+                    if (size < best || (size == best && degree[s] > degree[subject])) {
+                        best = size;
+                        subject = s;
+                    }
+                }
+            }
+            if (best == 0) {
+                return;
+            }
+
+            assigned[subject] = true;
+            long[][] next = domains[level + 1];
+            long[] domain = current[subject];
+            for (int w = 0; w < domain.length; w++) {
+                long bits = domain[w];
+                while (bits != 0) {
+                    int group = (w << 6) + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+
+                    // FORWARD CHECKING: filtrar los dominios de las materias restantes
+                    if (forwardCheck(subject, group, current, next)) {
+                        chosen[subject] = groupIndices[subject][group];
+                        backtrack(level + 1, result);
+                    }
+                }
+            }
+            assigned[subject] = false;
+        }
+
+        /**
+         * Copia al siguiente nivel los dominios sin asignar, quitando los grupos
+         * que chocan con el elegido
+         * @return false si algún dominio quedó vacío
+         */
+        private boolean forwardCheck(int subject, int group, long[][] current, long[][] next) {
+            long[][] groupConflicts = conflicts[subject][group];
+            for (int t = 0; t < subjects; t++) {
+                if (assigned[t]) continue;
+                long[] from = current[t];
+                long[] to = next[t];
+                long[] remove = groupConflicts[t];
+                long any = 0;
+                for (int w = 0; w < from.length; w++) {
+                    to[w] = from[w] & ~remove[w];
+                    any |= to[w];
+                }
+                if (any == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Posición dentro de su materia del grupo con el índice dado
+         * (los grupos están en orden del catálogo, por lo que sus índices son crecientes)
+         */
+        int positionOf(int subject, int courseIndex) {
+            return Arrays.binarySearch(groupIndices[subject], courseIndex);
+        }
+
+        private int count(long[] domain) {
+            int count = 0;
+            for (long word : domain) {
+                count += Long.bitCount(word);
+            }
+            return count;
+        }
+    }
+}
@@ -2,11 +2,13 @@ package com.scheduler.algorithm;
 
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
+import com.scheduler.logic.ConflictGraph;
 import com.scheduler.logic.PriorityType;
 import com.scheduler.logic.ScheduleEvaluator;
 import com.scheduler.model.Course;
@@ -22,10 +24,14 @@ import com.scheduler.model.TimeSlot;
  */
 public class GreedyScheduler {
     
-    private List<Course> allCourses;
+    private final ConflictGraph conflictGraph;
 
     public GreedyScheduler(List<Course> allCourses) {
-        this.allCourses = allCourses;
+        this(new ConflictGraph(allCourses));
+    }
+
+    public GreedyScheduler(ConflictGraph conflictGraph) {
+        this.conflictGraph = conflictGraph;
     }
 
     public List<List<Course>> generateSchedules(List<String> desiredSubjects) {
@@ -35,9 +41,7 @@ public class GreedyScheduler {
     public List<List<Course>> generateSchedules(List<String> desiredSubjects, PriorityType priority) {
         List<List<Course>> solutions = new ArrayList<>();
         
-        Map<String, List<Course>> coursesBySubject = allCourses.stream()
-                .filter(c -> desiredSubjects.contains(c.getSubject()))
-                .collect(Collectors.groupingBy(Course::getSubject));
+        Map<String, List<Course>> coursesBySubject = conflictGraph.groupBySubject(desiredSubjects);
 
         // Verificar que todas las materias existan
         for (String subject : desiredSubjects) {
@@ -119,6 +123,16 @@ public class GreedyScheduler {
                                                  Map<String, List<Course>> coursesBySubject) {
         List<Course> schedule = new ArrayList<>();
         
+        // Conjunto de grupos de cada materia, para contar conflictos con operaciones de bits
+        Map<String, long[]> groupSets = new HashMap<>();
+        for (String subject : subjects) {
+            long[] set = groupSets.computeIfAbsent(subject, k -> conflictGraph.newCourseSet());
+            for (Course course : coursesBySubject.get(subject)) {
+                int index = conflictGraph.indexOf(course);
+                set[index >>> 6] |= 1L << index;
+            }
+        }
+
         // Ordenar materias por número de opciones disponibles (ascendente)
         List<String> sortedSubjects = subjects.stream()
             .sorted(Comparator.comparingInt(s -> coursesBySubject.get(s).size()))
@@ -133,7 +147,7 @@ public class GreedyScheduler {
             
             for (Course option : options) {
                 if (!hasConflictWithSchedule(schedule, option)) {
-                    int conflicts = countPotentialConflicts(option, coursesBySubject, subjects);
+                    int conflicts = countPotentialConflicts(option, groupSets, subjects);
                     if (conflicts < minConflicts) {
                         minConflicts = conflicts;
                         bestOption = option;
@@ -159,22 +173,19 @@ public class GreedyScheduler {
     }
 
     private boolean hasConflictWithSchedule(List<Course> schedule, Course newCourse) {
-        return schedule.stream().anyMatch(c -> c.overlaps(newCourse));
+        return schedule.stream().anyMatch(c -> conflictGraph.conflicts(c, newCourse));
     }
 
     private int countPotentialConflicts(Course course, 
-                                        Map<String, List<Course>> coursesBySubject,
+                                        Map<String, long[]> groupSets,
                                         List<String> allSubjects) {
+        int index = conflictGraph.indexOf(course);
         int conflicts = 0;
         
         for (String subject : allSubjects) {
             if (subject.equals(course.getSubject())) continue;
             
-            for (Course other : coursesBySubject.get(subject)) {
-                if (course.overlaps(other)) {
-                    conflicts++;
-                }
-            }
+            conflicts += conflictGraph.countConflicts(index, groupSets.get(subject));
         }
         
         return conflicts;
@@ -0,0 +1,219 @@
+package com.scheduler.algorithm;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import com.scheduler.logic.ConflictGraph;
+import com.scheduler.logic.PriorityType;
+import com.scheduler.logic.ScheduleEvaluator;
+import com.scheduler.logic.ScheduleSet;
+import com.scheduler.logic.ScheduleState;
+import com.scheduler.logic.SearchMonitor;
+import com.scheduler.model.Course;
+import com.scheduler.model.OccupancyMask;
+
+/**
+ * Backtracking paralelo con Fork/Join
+ *
+ * Estrategia:
+ * 1. Los primeros niveles del árbol (una o dos materias) se dividen en tareas
+ *    independientes, una por cada grupo compatible
+ * 2. Cada tarea completa su subárbol con backtracking secuencial en su propio buffer
+ * 3. Los resultados se unen en el orden de los grupos, por lo que el resultado
+ *    es idéntico al de {@link com.scheduler.logic.Scheduler}
+ */
+public class ParallelScheduler {
+
+    static final int DEFAULT_SPLIT_DEPTH = 2;
+
+    private final ConflictGraph conflictGraph;
+    private final ForkJoinPool pool;
+    private final int splitDepth;
+
+    public ParallelScheduler(List<Course> allCourses) {
+        this(new ConflictGraph(allCourses));
+    }
+
+    public ParallelScheduler(ConflictGraph conflictGraph) {
+        this(conflictGraph, ForkJoinPool.commonPool(), DEFAULT_SPLIT_DEPTH);
+    }
+
+    /**
+     * @param conflictGraph grafo de conflictos del catálogo
+     * @param pool pool de hilos donde se ejecutan las tareas
+     * @param splitDepth cantidad de niveles (materias) que se dividen en tareas
+     */
+    public ParallelScheduler(ConflictGraph conflictGraph, ForkJoinPool pool, int splitDepth) {
+        this.conflictGraph = conflictGraph;
+        this.pool = pool;
+        this.splitDepth = splitDepth;
+    }
+
+    public ScheduleSet generateSchedules(List<String> desiredSubjects) {
+        return generateSchedules(desiredSubjects, PriorityType.FEWER_DAYS);
+    }
+
+    public ScheduleSet generateSchedules(List<String> desiredSubjects, PriorityType priority) {
+        return generateSchedules(desiredSubjects, priority, new SearchMonitor());
+    }
+
+    /**
+     * @param monitor recibe los nodos explorados por todas las tareas de esta búsqueda y permite cancelarla
+     */
+    public ScheduleSet generateSchedules(List<String> desiredSubjects, PriorityType priority, SearchMonitor monitor) {
+        Map<String, List<Course>> coursesBySubject = conflictGraph.groupBySubject(desiredSubjects);
+
+        // Verificar que todas las materias existan
+        for (String subject : desiredSubjects) {
+            if (!coursesBySubject.containsKey(subject) || coursesBySubject.get(subject).isEmpty()) {
+                return new ScheduleSet(conflictGraph, desiredSubjects.size());
+            }
+        }
+
+        List<List<Course>> options = new ArrayList<>();
+        for (String subject : desiredSubjects) {
+            options.add(coursesBySubject.get(subject));
+        }
+        boolean exactMasks = options.stream()
+                .flatMap(List::stream)
+                .allMatch(c -> c.getOccupancy().isExact());
+
+        SearchContext context = new SearchContext(options, exactMasks, priority, monitor);
+        ScheduleSet result = pool.invoke(new BranchTask(context, new ArrayList<>(),
+                new int[options.size()], OccupancyMask.newAccumulator()));
+
+        return ScheduleEvaluator.sortSchedules(result);
+    }
+
+    /**
+     * Datos de una búsqueda compartidos por todas sus tareas (el monitor es seguro entre hilos)
+     */
+    private class SearchContext {
+        final List<List<Course>> options; // grupos por materia, en el orden pedido
+        final boolean exactMasks;
+        final PriorityType priority;
+        final SearchMonitor monitor;
+
+        SearchContext(List<List<Course>> options, boolean exactMasks, PriorityType priority,
+                      SearchMonitor monitor) {
+            this.options = options;
+            this.exactMasks = exactMasks;
+            this.priority = priority;
+            this.monitor = monitor;
+        }
+
+        boolean hasConflict(List<Course> currentSchedule, long[] occupied, Course newCourse) {
+            if (!newCourse.getOccupancy().intersects(occupied)) {
+                return false;
+            }
+            if (exactMasks) {
+                return true;
+            }
+            for (Course existing : currentSchedule) {
+                if (conflictGraph.conflicts(existing, newCourse)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Tarea que explora el subárbol que cuelga de un horario parcial
+     */
+    private class BranchTask extends RecursiveTask<ScheduleSet> {
+        private static final long serialVersionUID = 1L;
+
+        private final SearchContext context;
+        private final List<Course> prefix;
+        private final int[] prefixIndices; // índices en el grafo de los cursos del prefijo
+        private final long[] occupied;
+
+        BranchTask(SearchContext context, List<Course> prefix, int[] prefixIndices, long[] occupied) {
+            this.context = context;
+            this.prefix = prefix;
+            this.prefixIndices = prefixIndices;
+            this.occupied = occupied;
+        }
+
+        @Override
+        protected ScheduleSet compute() {
+            int index = prefix.size();
+
+            // Por debajo de la profundidad de división se continúa secuencialmente
+            if (index >= splitDepth || index == context.options.size()) {
+                ScheduleSet buffer = new ScheduleSet(conflictGraph, context.options.size());
+                ScheduleState state = new ScheduleState(context.options);
+                for (Course course : prefix) {
+                    state.push(course);
+                }
+                int levels = context.options.size() - index;
+                long[][] occupancy = new long[levels + 1][];
+                occupancy[0] = occupied;
+                for (int i = 1; i <= levels; i++) {
+                    occupancy[i] = OccupancyMask.newAccumulator();
+                }
+                backtrack(new ArrayList<>(prefix), prefixIndices.clone(), 0, occupancy, state, buffer);
+                return buffer;
+            }
+
+            // DIVIDIR: una subtarea por cada grupo compatible de la materia actual
+            context.monitor.visit();
+            List<BranchTask> subtasks = new ArrayList<>();
+            for (Course option : context.options.get(index)) {
+                if (!context.hasConflict(prefix, occupied, option)) {
+                    List<Course> childPrefix = new ArrayList<>(prefix);
+                    childPrefix.add(option);
+                    int[] childIndices = prefixIndices.clone();
+                    childIndices[index] = conflictGraph.indexOf(option);
+                    long[] childOccupied = occupied.clone();
+                    option.getOccupancy().orInto(childOccupied);
+                    subtasks.add(new BranchTask(context, childPrefix, childIndices, childOccupied));
+                }
+            }
+            invokeAll(subtasks);
+
+            // UNIR: en el orden de los grupos para conservar el orden secuencial
+            ScheduleSet merged = new ScheduleSet(conflictGraph, context.options.size());
+            for (BranchTask task : subtasks) {
+                merged.addAll(task.join());
+            }
+            return merged;
+        }
+
+        private void backtrack(List<Course> currentSchedule, int[] currentIndices, int level,
+                               long[][] occupancy, ScheduleState state, ScheduleSet buffer) {
+            SearchMonitor monitor = context.monitor;
+            monitor.visit();
+
+            int index = currentSchedule.size();
+            if (index == context.options.size()) {
+                buffer.add(currentIndices, state.score(context.priority));
+                if (monitor.wantsPreview()) {
+                    monitor.preview(new ArrayList<>(currentSchedule));
+                }
+                return;
+            }
+
+            long[] current = occupancy[level];
+            for (Course option : context.options.get(index)) {
+                if (!context.hasConflict(currentSchedule, current, option)) {
+                    currentSchedule.add(option);
+                    currentIndices[index] = conflictGraph.indexOf(option);
+                    state.push(option);
+                    long[] next = occupancy[level + 1];
+                    System.arraycopy(current, 0, next, 0, next.length);
+                    option.getOccupancy().orInto(next);
+
+                    backtrack(currentSchedule, currentIndices, level + 1, occupancy, state, buffer);
+
+                    state.pop();
+                    currentSchedule.remove(currentSchedule.size() - 1);
+                }
+            }
+        }
+    }
+}
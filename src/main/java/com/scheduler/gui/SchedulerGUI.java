@@ -1,26 +1,47 @@
 package com.scheduler.gui;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import com.scheduler.algorithm.AlgorithmBenchmark;
 import com.scheduler.algorithm.AlgorithmType;
 import com.scheduler.algorithm.BenchmarkResult;
+import com.scheduler.logic.ArcConsistency;
+import com.scheduler.logic.ConflictGraph;
 import com.scheduler.logic.DataLoader;
 import com.scheduler.logic.PriorityType;
+import com.scheduler.logic.ScheduleCache;
+import com.scheduler.logic.Scheduler;
+import com.scheduler.logic.SearchMonitor;
 import com.scheduler.model.Course;
+import com.scheduler.model.Weekday;
 
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
 import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.concurrent.Task;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
+import javafx.geometry.VPos;
 import javafx.scene.Scene;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
 import javafx.scene.control.CheckBox;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.ProgressBar;
 import javafx.scene.control.ScrollPane;
 import javafx.scene.control.Separator;
 import javafx.scene.control.Spinner;
@@ -29,27 +50,45 @@ import javafx.scene.control.TextArea;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.HBox;
-import javafx.scene.layout.Pane;
 import javafx.scene.layout.Priority;
 import javafx.scene.layout.VBox;
-import javafx.scene.shape.Line;
-import javafx.scene.shape.Rectangle;
+import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
+import javafx.scene.text.TextAlignment;
 import javafx.stage.Stage;
+import javafx.util.Duration;
 
 public class SchedulerGUI extends Application {
 
     private List<Course> allCourses;
     private VBox subjectsContainer;
     private VBox resultsContainer;
+    private ScrollPane resultsScroll;
+    private VBox summaryContainer;
+    private ListView<List<Course>> resultsList;
     private Label statusLabel;
     private Map<String, CheckBox> subjectCheckBoxes; // Checkbox por materia (para seleccionar todos)
     private Map<String, CheckBox> groupCheckBoxes; // Checkbox por grupo individual
     private ComboBox<AlgorithmType> algorithmSelector;
     private CheckBox compareAllCheckbox;
+    private CheckBox concurrentCheckbox;
+    private Spinner<Integer> trialsSpinner;
     private Spinner<Integer> maxSolutionsSpinner;
     private ComboBox<PriorityType> prioritySelector;
+    private Button generateButton;
+    private HBox progressBox;
+    private ProgressBar progressBar;
+
+    // Búsqueda en segundo plano
+    private Task<?> activeTask;
+    private SearchMonitor activeMonitor;
+    private Timeline progressTimeline;
+    private ObservableList<List<Course>> previewItems;
+
+    // Resultados de selecciones anteriores, por conjunto de grupos, prioridad y algoritmo.
+    // El catálogo se carga una sola vez al abrir la ventana, así que no hace falta invalidarla
+    private final ScheduleCache resultCache = new ScheduleCache(RESULT_CACHE_ENTRIES);
 
     // Colores
     private static final String PRIMARY_COLOR = "#FF6B35"; 
@@ -58,12 +97,13 @@ public class SchedulerGUI extends Application {
     private static final String CARD_BG = "#2d2d2d"; 
     private static final String TEXT_COLOR = "#ffffff"; 
     private static final String ACCENT_COLOR = "#ff8c5a"; 
+    private static final int RESULT_CACHE_ENTRIES = 16;
 
     @Override
     public void start(Stage primaryStage) {
         // Cargar datos
         DataLoader loader = new DataLoader();
-        allCourses = loader.loadCourses("courses.json");
+        allCourses = loader.loadCatalog(getParameters().getRaw());
 
         if (allCourses.isEmpty()) {
             showError("Error al cargar los cursos desde el archivo JSON");
@@ -181,8 +221,29 @@ public class SchedulerGUI extends Application {
         compareAllCheckbox.setOnAction(e -> {
             algorithmSelector.setDisable(compareAllCheckbox.isSelected());
             maxSolutionsSpinner.setDisable(compareAllCheckbox.isSelected());
+            concurrentCheckbox.setDisable(!compareAllCheckbox.isSelected());
+            trialsSpinner.setDisable(!compareAllCheckbox.isSelected());
         });
 
+        // Opciones de la comparación: repeticiones medidas y ejecución simultánea
+        concurrentCheckbox = new CheckBox("Algoritmos en paralelo");
+        concurrentCheckbox.setFont(Font.font("Segoe UI", 12));
+        concurrentCheckbox.setStyle("-fx-text-fill: " + TEXT_COLOR + ";");
+        concurrentCheckbox.setDisable(true);
+
+        trialsSpinner = new Spinner<>();
+        trialsSpinner.setValueFactory(new SpinnerValueFactory.IntegerSpinnerValueFactory(1, 20, 1));
+        trialsSpinner.setEditable(true);
+        trialsSpinner.setPrefWidth(70);
+        trialsSpinner.setDisable(true);
+
+        Label trialsLabel = new Label("Repeticiones:");
+        trialsLabel.setFont(Font.font("Segoe UI", 12));
+        trialsLabel.setStyle("-fx-text-fill: " + TEXT_COLOR + ";");
+
+        HBox comparisonOptions = new HBox(10, trialsLabel, trialsSpinner, concurrentCheckbox);
+        comparisonOptions.setAlignment(Pos.CENTER_LEFT);
+
         Separator sep1 = new Separator();
         sep1.setStyle("-fx-background-color: " + PRIMARY_COLOR + ";");
 
@@ -342,7 +403,7 @@ public class SchedulerGUI extends Application {
         HBox buttons = new HBox(10);
         buttons.setAlignment(Pos.CENTER);
 
-        Button generateButton = createStyledButton("Generar", PRIMARY_COLOR);
+        generateButton = createStyledButton("Generar", PRIMARY_COLOR);
         generateButton.setOnAction(e -> generateSchedules());
 
         Button clearButton = createStyledButton("Limpiar", PRIMARY_COLOR);
@@ -350,14 +411,27 @@ public class SchedulerGUI extends Application {
 
         buttons.getChildren().addAll(generateButton, clearButton);
 
+        // Progreso de la búsqueda en curso (oculto mientras no hay ninguna)
+        progressBar = new ProgressBar(0);
+        progressBar.setMaxWidth(Double.MAX_VALUE);
+        HBox.setHgrow(progressBar, Priority.ALWAYS);
+
+        Button cancelButton = createStyledButton("Cancelar", SECONDARY_COLOR);
+        cancelButton.setOnAction(e -> cancelSearch());
+
+        progressBox = new HBox(10, progressBar, cancelButton);
+        progressBox.setAlignment(Pos.CENTER);
+        progressBox.setVisible(false);
+        progressBox.setManaged(false);
+
         // Status label
         statusLabel = new Label("");
         statusLabel.setFont(Font.font("Segoe UI", 12));
         statusLabel.setStyle("-fx-text-fill: " + PRIMARY_COLOR + ";");
         statusLabel.setWrapText(true);
 
-        panel.getChildren().addAll(title, configGrid, compareAllCheckbox, 
-                                   sep1, subjectsTitle, scrollPane, buttons, statusLabel);
+        panel.getChildren().addAll(title, configGrid, compareAllCheckbox, comparisonOptions,
+                                   sep1, subjectsTitle, scrollPane, buttons, progressBox, statusLabel);
         return panel;
     }
 
@@ -379,15 +453,45 @@ public class SchedulerGUI extends Application {
         placeholder.setAlignment(Pos.CENTER);
         resultsContainer.getChildren().add(placeholder);
 
-        ScrollPane scrollPane = new ScrollPane(resultsContainer);
-        scrollPane.setFitToWidth(true);
-        scrollPane.setStyle("-fx-background: " + DARK_BG + "; -fx-background-color: " + DARK_BG + ";");
-        VBox.setVgrow(scrollPane, Priority.ALWAYS);
+        resultsScroll = new ScrollPane(resultsContainer);
+        resultsScroll.setFitToWidth(true);
+        resultsScroll.setStyle("-fx-background: " + DARK_BG + "; -fx-background-color: " + DARK_BG + ";");
+        VBox.setVgrow(resultsScroll, Priority.ALWAYS);
+
+        // Lista virtualizada: solo existen las tarjetas de las filas visibles y se reciclan
+        summaryContainer = new VBox(10);
+        resultsList = new ListView<>();
+        resultsList.setCellFactory(list -> new ScheduleCell());
+        resultsList.setFocusTraversable(false);
+        resultsList.setStyle(
+            "-fx-background-color: " + DARK_BG + ";" +
+            "-fx-control-inner-background: " + DARK_BG + ";" +
+            "-fx-border-color: transparent;"
+        );
+        VBox.setVgrow(resultsList, Priority.ALWAYS);
 
-        panel.getChildren().addAll(title, scrollPane);
+        panel.getChildren().addAll(title, resultsScroll, summaryContainer, resultsList);
+        showScheduleList(false);
         return panel;
     }
 
+    /**
+     * Alterna entre la lista de horarios (con su resumen arriba) y el panel
+     * desplazable de mensajes y comparaciones
+     */
+    private void showScheduleList(boolean visible) {
+        resultsScroll.setVisible(!visible);
+        resultsScroll.setManaged(!visible);
+        summaryContainer.setVisible(visible);
+        summaryContainer.setManaged(visible);
+        resultsList.setVisible(visible);
+        resultsList.setManaged(visible);
+        if (!visible) {
+            summaryContainer.getChildren().clear();
+            resultsList.setItems(FXCollections.observableArrayList());
+        }
+    }
+
     private Button createStyledButton(String text, String color) {
         Button button = new Button(text);
         button.setFont(Font.font("Segoe UI", FontWeight.BOLD, 14));
@@ -403,6 +507,10 @@ public class SchedulerGUI extends Application {
     }
 
     private void generateSchedules() {
+        if (activeTask != null) {
+            return; // ya hay una búsqueda en curso
+        }
+
         // Obtener los grupos seleccionados
         List<Course> selectedGroups = groupCheckBoxes.entrySet().stream()
                 .filter(entry -> entry.getValue().isSelected())
@@ -434,35 +542,205 @@ public class SchedulerGUI extends Application {
     }
 
     private void runSingleAlgorithm(List<Course> selectedGroups, Map<String, List<Course>> groupsBySubject) {
-        statusLabel.setText(" Generando horarios...");
-        statusLabel.setStyle("-fx-text-fill: " + PRIMARY_COLOR + ";");
-
-        AlgorithmBenchmark benchmark = new AlgorithmBenchmark(selectedGroups);
+        ConflictGraph graph = new ConflictGraph(selectedGroups);
+        AlgorithmBenchmark benchmark = new AlgorithmBenchmark(graph);
         PriorityType priority = prioritySelector.getValue();
         
         // Obtener las materias únicas
         List<String> subjects = new java.util.ArrayList<>(groupsBySubject.keySet());
+
+        // Si ya se sabe que no hay horarios, informar sin ejecutar la búsqueda
+        if (showInfeasibility(graph, subjects)) {
+            return;
+        }
         
-        BenchmarkResult result = benchmark.runBenchmark(algorithmSelector.getValue(), subjects, priority);
+        AlgorithmType algorithm = algorithmSelector.getValue();
+        int maxSolutions = maxSolutionsSpinner.getValue();
+
+        // La misma selección de grupos con la misma prioridad y algoritmo ya se resolvió
+        ScheduleCache.Key cacheKey = ScheduleCache.Key.forGroups(selectedGroups, priority, algorithm.name());
+        long lookupStart = System.nanoTime();
+        List<List<Course>> cached = resultCache.get(cacheKey);
+        if (cached != null) {
+            long lookupNs = System.nanoTime() - lookupStart;
+            displaySingleResult(new BenchmarkResult(algorithm, cached, new long[]{lookupNs}, 0));
+            statusLabel.setText(statusLabel.getText() + " (desde caché)");
+            return;
+        }
 
-        displaySingleResult(result);
+        SearchMonitor monitor = new SearchMonitor();
+
+        // Los primeros horarios se muestran a medida que aparecen; al terminar se
+        // reemplazan por los resultados ordenados
+        previewItems = FXCollections.observableArrayList();
+        showScheduleList(true);
+        resultsList.setItems(previewItems);
+        monitor.setPreviewListener(maxSolutions,
+            schedule -> Platform.runLater(() -> addPreviewCard(monitor, schedule)));
+
+        Task<BenchmarkResult> task = new Task<>() {
+            @Override
+            protected BenchmarkResult call() {
+                updateMessage(" Generando horarios...");
+                // El estimador recorre el árbol del backtracking principal; para los
+                // demás algoritmos la barra queda indeterminada
+                if (algorithm == AlgorithmType.BACKTRACKING) {
+                    monitor.setExpectedNodes(new Scheduler(graph).estimateSearchNodes(subjects));
+                }
+                return benchmark.runBenchmark(algorithm, subjects, priority, monitor);
+            }
+        };
+        startSearch(task, monitor, result -> {
+            resultCache.put(cacheKey, result.getSolutions());
+            displaySingleResult(result);
+        });
     }
 
     private void runComparison(List<Course> selectedGroups, Map<String, List<Course>> groupsBySubject) {
-        statusLabel.setText(" Comparando algoritmos...");
-        statusLabel.setStyle("-fx-text-fill: " + PRIMARY_COLOR + ";");
-
-        AlgorithmBenchmark benchmark = new AlgorithmBenchmark(selectedGroups);
+        ConflictGraph graph = new ConflictGraph(selectedGroups);
+        AlgorithmBenchmark benchmark = new AlgorithmBenchmark(graph);
         PriorityType priority = prioritySelector.getValue();
+
+        // Con varias repeticiones, una ejecución previa de calentamiento para el JIT
+        int trials = trialsSpinner.getValue();
+        benchmark.setTrials(trials);
+        benchmark.setWarmupIterations(trials > 1 ? 1 : 0);
+        benchmark.setConcurrent(concurrentCheckbox.isSelected());
         
         // Obtener las materias únicas
         List<String> subjects = new java.util.ArrayList<>(groupsBySubject.keySet());
+
+        if (showInfeasibility(graph, subjects)) {
+            return;
+        }
         
-        List<BenchmarkResult> results = benchmark.runAllBenchmarks(subjects, priority);
+        SearchMonitor monitor = new SearchMonitor();
+        Task<List<BenchmarkResult>> task = new Task<>() {
+            @Override
+            protected List<BenchmarkResult> call() {
+                // Cada algoritmo recorre su propio árbol y solo el del backtracking tiene
+                // estimación, así que la barra queda indeterminada
+                AlgorithmType[] algorithms = AlgorithmType.values();
+
+                if (benchmark.isConcurrent()) {
+                    updateMessage(String.format(" Comparando %d algoritmos en paralelo...", algorithms.length));
+                    return benchmark.runAllBenchmarks(subjects, priority, monitor);
+                }
+
+                List<BenchmarkResult> results = new ArrayList<>();
+                for (int i = 0; i < algorithms.length; i++) {
+                    updateMessage(String.format(" Comparando algoritmos (%d/%d): %s...",
+                        i + 1, algorithms.length, algorithms[i].getDisplayName()));
+                    results.add(benchmark.runBenchmark(algorithms[i], subjects, priority, monitor));
+                }
+                return results;
+            }
+        };
+        startSearch(task, monitor, results -> displayComparisonResults(results, benchmark));
+    }
+
+    /**
+     * Ejecuta la búsqueda en un hilo aparte; mientras tanto la barra de progreso
+     * se actualiza con los nodos explorados y el botón Cancelar la detiene
+     */
+    private <T> void startSearch(Task<T> task, SearchMonitor monitor, Consumer<T> onSuccess) {
+        activeTask = task;
+        activeMonitor = monitor;
+        setSearching(true);
+        statusLabel.setText(" Iniciando búsqueda...");
+        statusLabel.setStyle("-fx-text-fill: " + PRIMARY_COLOR + ";");
+
+        progressTimeline = new Timeline(new KeyFrame(Duration.millis(100), e -> updateProgress(task, monitor)));
+        progressTimeline.setCycleCount(Animation.INDEFINITE);
+        progressTimeline.play();
+
+        task.setOnSucceeded(e -> {
+            finishSearch();
+            onSuccess.accept(task.getValue());
+        });
+        task.setOnCancelled(e -> {
+            finishSearch();
+            statusLabel.setText(String.format(" Búsqueda cancelada tras explorar %,d nodos", monitor.getNodes()));
+            statusLabel.setStyle("-fx-text-fill: " + SECONDARY_COLOR + ";");
+        });
+        task.setOnFailed(e -> {
+            finishSearch();
+            statusLabel.setText(" Error durante la búsqueda: " + task.getException().getMessage());
+            statusLabel.setStyle("-fx-text-fill: " + SECONDARY_COLOR + ";");
+            task.getException().printStackTrace();
+        });
+
+        Thread worker = new Thread(task, "busqueda-horarios");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    private void updateProgress(Task<?> task, SearchMonitor monitor) {
+        double progress = monitor.getProgress();
+        // La estimación puede quedarse corta: no se muestra completo hasta que termine
+        progressBar.setProgress(progress < 0 ? ProgressBar.INDETERMINATE_PROGRESS : Math.min(progress, 0.99));
+        statusLabel.setText(String.format("%s %,d nodos explorados", task.getMessage(), monitor.getNodes()));
+    }
+
+    /**
+     * Detiene la búsqueda en curso: el hilo la abandona en el próximo nodo que visita
+     */
+    private void cancelSearch() {
+        if (activeTask != null) {
+            activeMonitor.cancel();
+            activeTask.cancel(false);
+        }
+    }
+
+    private void finishSearch() {
+        progressTimeline.stop();
+        activeTask = null;
+        activeMonitor = null;
+        setSearching(false);
+    }
+
+    private void setSearching(boolean searching) {
+        generateButton.setDisable(searching);
+        progressBar.setProgress(searching ? ProgressBar.INDETERMINATE_PROGRESS : 0);
+        progressBox.setVisible(searching);
+        progressBox.setManaged(searching);
+    }
 
-        displayComparisonResults(results, benchmark);
+    /**
+     * Agrega un horario encontrado mientras la búsqueda sigue en curso
+     */
+    private void addPreviewCard(SearchMonitor monitor, List<Course> schedule) {
+        // Ignorar horarios que lleguen de una búsqueda ya terminada o cancelada
+        if (monitor != activeMonitor) {
+            return;
+        }
+        previewItems.add(schedule);
     }
     
+    /**
+     * Pre-chequeo de consistencia de arcos: si ninguna combinación es posible
+     * muestra las materias que chocan entre sí
+     * @return true si no existe ningún horario
+     */
+    private boolean showInfeasibility(ConflictGraph graph, List<String> subjects) {
+        ArcConsistency.Result consistency = new ArcConsistency(graph).reduce(subjects);
+        if (consistency.isFeasible()) {
+            return false;
+        }
+
+        showScheduleList(false);
+        resultsContainer.getChildren().clear();
+        statusLabel.setText(" Sin horarios posibles: no se pueden combinar "
+                + String.join(", ", consistency.getConflictingSubjects()));
+        statusLabel.setStyle("-fx-text-fill: " + SECONDARY_COLOR + ";");
+
+        Label noResults = new Label("Ningún grupo de estas materias es compatible con los de las demás");
+        noResults.setFont(Font.font("Segoe UI", 14));
+        noResults.setStyle("-fx-text-fill: " + TEXT_COLOR + "; -fx-opacity: 0.6;");
+        resultsContainer.getChildren().add(noResults);
+        return true;
+    }
+
     private String formatTime(int minutes) {
         int hours = minutes / 60;
         int mins = minutes % 60;
@@ -470,9 +748,9 @@ public class SchedulerGUI extends Application {
     }
 
     private void displaySingleResult(BenchmarkResult result) {
-        resultsContainer.getChildren().clear();
-
         if (result.getSolutions().isEmpty()) {
+            showScheduleList(false);
+            resultsContainer.getChildren().clear();
             statusLabel.setText(" No se encontraron horarios compatibles");
             statusLabel.setStyle("-fx-text-fill: " + SECONDARY_COLOR + ";");
 
@@ -491,28 +769,29 @@ public class SchedulerGUI extends Application {
             result.getQualityScore()));
         statusLabel.setStyle("-fx-text-fill: #4CAF50;");
 
+        showScheduleList(true);
+
         // Mostrar métricas
         VBox metricsCard = createMetricsCard(result);
-        resultsContainer.getChildren().add(metricsCard);
+        summaryContainer.getChildren().add(metricsCard);
 
-        // Mostrar horarios
+        // Mostrar horarios: la lista envuelve las soluciones sin copiarlas y solo
+        // arma las tarjetas visibles
         int maxSolutions = maxSolutionsSpinner.getValue();
         int limit = Math.min(result.getSolutions().size(), maxSolutions);
-
-        for (int i = 0; i < limit; i++) {
-            HBox scheduleCard = createScheduleCard(result.getSolutions().get(i), i + 1);
-            resultsContainer.getChildren().add(scheduleCard);
-        }
+        resultsList.setItems(FXCollections.observableList(result.getSolutions().subList(0, limit)));
+        resultsList.scrollTo(0);
 
         if (result.getSolutions().size() > limit) {
              Label moreLabel = new Label("... y " + (result.getSolutions().size() - limit) + " soluciones más.");
              moreLabel.setFont(Font.font("Segoe UI", 14));
-             moreLabel.setStyle("-fx-text-fill: " + TEXT_COLOR + "; -fx-padding: 10;");
-             resultsContainer.getChildren().add(moreLabel);
+             moreLabel.setStyle("-fx-text-fill: " + TEXT_COLOR + "; -fx-padding: 0 10 0 10;");
+             summaryContainer.getChildren().add(moreLabel);
         }
     }
 
     private void displayComparisonResults(List<BenchmarkResult> results, AlgorithmBenchmark benchmark) {
+        showScheduleList(false);
         resultsContainer.getChildren().clear();
 
         statusLabel.setText(" Comparación completada");
@@ -591,7 +870,7 @@ public class SchedulerGUI extends Application {
         table.setPadding(new Insets(10));
 
         // Headers
-        String[] headers = {"Algoritmo", "Soluciones", "Tiempo", "Memoria", "Calidad"};
+        String[] headers = {"Algoritmo", "Soluciones", "Tiempo", "P95", "Memoria", "Calidad"};
         for (int i = 0; i < headers.length; i++) {
             Label h = new Label(headers[i]);
             h.setFont(Font.font("Segoe UI", FontWeight.BOLD, 12));
@@ -611,17 +890,21 @@ public class SchedulerGUI extends Application {
             sols.setStyle("-fx-text-fill: " + TEXT_COLOR + ";");
             table.add(sols, 1, i + 1);
 
-            Label time = new Label(r.getExecutionTimeMs() + " ms");
+            Label time = new Label(String.format("%.2f ms", r.getMedianTimeMs()));
             time.setStyle("-fx-text-fill: " + TEXT_COLOR + ";");
             table.add(time, 2, i + 1);
 
+            Label p95 = new Label(String.format("%.2f ms", r.getP95TimeMs()));
+            p95.setStyle("-fx-text-fill: " + TEXT_COLOR + ";");
+            table.add(p95, 3, i + 1);
+
             Label mem = new Label(String.format("%.2f MB", r.getMemoryUsedMB()));
             mem.setStyle("-fx-text-fill: " + TEXT_COLOR + ";");
-            table.add(mem, 3, i + 1);
+            table.add(mem, 4, i + 1);
 
             Label qual = new Label(String.format("%.2f", r.getQualityScore()));
             qual.setStyle("-fx-text-fill: " + TEXT_COLOR + ";");
-            table.add(qual, 4, i + 1);
+            table.add(qual, 5, i + 1);
         }
 
         // Análisis
@@ -714,227 +997,220 @@ public class SchedulerGUI extends Application {
         return chart;
     }
 
-    private HBox createScheduleCard(List<Course> schedule, int optionNumber) {
-        HBox card = new HBox(15);
-        card.setPadding(new Insets(15));
-        card.setStyle(
-            "-fx-background-color: " + CARD_BG + ";" +
-            "-fx-background-radius: 10;" +
-            "-fx-border-color: " + PRIMARY_COLOR + ";" +
-            "-fx-border-width: 2;" +
-            "-fx-border-radius: 10;"
-        );
-
-        // Parte Gráfica (Izquierda)
-        VBox graphicContainer = new VBox(5);
-        Label graphicTitle = new Label("Opción " + optionNumber);
-        graphicTitle.setFont(Font.font("Segoe UI", FontWeight.BOLD, 16));
-        graphicTitle.setStyle("-fx-text-fill: " + PRIMARY_COLOR + ";");
-        
-        Pane graphicSchedule = createGraphicalSchedule(schedule);
-        graphicContainer.getChildren().addAll(graphicTitle, graphicSchedule);
-
-        // Parte Textual (Derecha)
-        VBox textDetails = createTextualDetails(schedule);
-        HBox.setHgrow(textDetails, Priority.ALWAYS);
-
-        card.getChildren().addAll(graphicContainer, textDetails);
-        return card;
-    }
-
-    private Pane createGraphicalSchedule(List<Course> schedule) {
-        Pane pane = new Pane();
-        double timeColWidth = 60; // Ancho columna de horas
-        double headerHeight = 35; // Altura del encabezado de días
-        double colWidth = 110; // Ancho por día
-        double startHour = 7; // 7:00 AM
-        double endHour = 22; // 10:00 PM
-        double pxPerMin = 0.7; // Escala vertical mejorada
-        double totalHeight = headerHeight + ((endHour - startHour + 1) * 60 * pxPerMin);
-        double totalWidth = timeColWidth + (colWidth * 5);
-        
-        pane.setPrefSize(totalWidth, totalHeight); 
-        pane.setMinSize(totalWidth, totalHeight);
-        pane.setStyle("-fx-background-color: #2a2a2a; -fx-border-color: " + PRIMARY_COLOR + "; -fx-border-width: 2;");
-
-        // Fondo para área de horas
-        Rectangle timeBg = new Rectangle(0, 0, timeColWidth, totalHeight);
-        timeBg.setFill(javafx.scene.paint.Color.web("#1f1f1f"));
-        pane.getChildren().add(timeBg);
-
-        // Fondo para encabezado de días
-        Rectangle headerBg = new Rectangle(timeColWidth, 0, totalWidth - timeColWidth, headerHeight);
-        headerBg.setFill(javafx.scene.paint.Color.web("#1f1f1f"));
-        pane.getChildren().add(headerBg);
-
-        // Etiquetas de días
-        String[] days = {"LUN", "MAR", "MIÉ", "JUE", "VIE"};
-        for (int i = 0; i < days.length; i++) {
-            Label dayLabel = new Label(days[i]);
-            dayLabel.setFont(Font.font("Segoe UI", FontWeight.BOLD, 12));
-            dayLabel.setTextFill(javafx.scene.paint.Color.web(PRIMARY_COLOR));
-            dayLabel.setAlignment(Pos.CENTER);
-            dayLabel.setPrefWidth(colWidth);
-            dayLabel.setLayoutX(timeColWidth + (i * colWidth));
-            dayLabel.setLayoutY(8);
-            dayLabel.setStyle("-fx-alignment: center;");
-            pane.getChildren().add(dayLabel);
-        }
-
-        // Línea horizontal separadora del encabezado
-        Line headerLine = new Line(0, headerHeight, totalWidth, headerHeight);
-        headerLine.setStroke(javafx.scene.paint.Color.web(PRIMARY_COLOR));
-        headerLine.setStrokeWidth(2);
-        pane.getChildren().add(headerLine);
-
-        // Líneas verticales para separar días
-        for (int i = 0; i <= 6; i++) {
-            double x = timeColWidth + (i * colWidth);
-            Line vLine = new Line(x, headerHeight, x, totalHeight);
-            vLine.setStroke(javafx.scene.paint.Color.web("#3a3a3a"));
-            vLine.setStrokeWidth(i == 0 ? 2 : 1);
-            pane.getChildren().add(vLine);
+    /**
+     * Celda reciclable de la lista de resultados: el horario gráfico se dibuja en
+     * un único Canvas y los detalles se actualizan en los mismos nodos al reutilizarla
+     */
+    private class ScheduleCell extends ListCell<List<Course>> {
+        private static final double TIME_COL_WIDTH = 60; // Ancho columna de horas
+        private static final double HEADER_HEIGHT = 35; // Altura del encabezado de días
+        private static final double COL_WIDTH = 110; // Ancho por día
+        private static final int START_HOUR = 7; // 7:00 AM
+        private static final int END_HOUR = 22; // 10:00 PM
+        private static final double PX_PER_MIN = 0.7; // Escala vertical
+        private static final double TOTAL_HEIGHT = HEADER_HEIGHT + ((END_HOUR - START_HOUR + 1) * 60 * PX_PER_MIN);
+        private static final double TOTAL_WIDTH = TIME_COL_WIDTH + (COL_WIDTH * 5);
+
+        private final HBox card = new HBox(15);
+        private final Label graphicTitle = new Label();
+        private final Canvas canvas = new Canvas(TOTAL_WIDTH, TOTAL_HEIGHT);
+        private final VBox details = new VBox(10);
+        private final List<CourseDetails> courseDetails = new ArrayList<>();
+
+        ScheduleCell() {
+            card.setPadding(new Insets(15));
+            card.setStyle(
+                "-fx-background-color: " + CARD_BG + ";" +
+                "-fx-background-radius: 10;" +
+                "-fx-border-color: " + PRIMARY_COLOR + ";" +
+                "-fx-border-width: 2;" +
+                "-fx-border-radius: 10;"
+            );
+
+            // Parte Gráfica (Izquierda)
+            graphicTitle.setFont(Font.font("Segoe UI", FontWeight.BOLD, 16));
+            graphicTitle.setStyle("-fx-text-fill: " + PRIMARY_COLOR + ";");
+            VBox graphicContainer = new VBox(5, graphicTitle, canvas);
+
+            // Parte Textual (Derecha)
+            details.setPadding(new Insets(10));
+            details.setPrefWidth(300);
+            HBox.setHgrow(details, Priority.ALWAYS);
+
+            Label title = new Label("Detalles de Grupos");
+            title.setFont(Font.font("Segoe UI", FontWeight.BOLD, 14));
+            title.setStyle("-fx-text-fill: " + SECONDARY_COLOR + ";");
+            Separator metricsSep = new Separator();
+            metricsSep.setStyle("-fx-background-color: #555;");
+            details.getChildren().addAll(title, metricsSep);
+
+            card.getChildren().addAll(graphicContainer, details);
+            setStyle("-fx-background-color: transparent; -fx-padding: 0 0 15 0;");
         }
 
-        // Dibujar líneas de tiempo y etiquetas
-        for (int h = (int)startHour; h <= endHour; h++) {
-            double y = headerHeight + ((h * 60 - (startHour * 60)) * pxPerMin);
-            
-            // Etiqueta de hora
-            Label timeLabel = new Label(String.format("%02d:00", h));
-            timeLabel.setFont(Font.font("Segoe UI", FontWeight.BOLD, 11));
-            timeLabel.setTextFill(javafx.scene.paint.Color.web("#CCCCCC"));
-            timeLabel.setLayoutX(8);
-            timeLabel.setLayoutY(y - 8);
-            pane.getChildren().add(timeLabel);
-
-            // Línea horizontal
-            Line line = new Line(timeColWidth, y, totalWidth, y);
-            line.setStroke(javafx.scene.paint.Color.web("#3a3a3a"));
-            line.setStrokeWidth(0.5);
-            pane.getChildren().add(line);
-            
-            // Líneas de media hora (más tenues)
-            if (h < endHour) {
-                double halfY = y + (30 * pxPerMin);
-                Line halfLine = new Line(timeColWidth, halfY, totalWidth, halfY);
-                halfLine.setStroke(javafx.scene.paint.Color.web("#2d2d2d"));
-                halfLine.setStrokeWidth(0.5);
-                halfLine.getStrokeDashArray().addAll(3d, 3d);
-                pane.getChildren().add(halfLine);
+        @Override
+        protected void updateItem(List<Course> schedule, boolean empty) {
+            super.updateItem(schedule, empty);
+            if (empty || schedule == null) {
+                setGraphic(null);
+                return;
             }
+            graphicTitle.setText("Opción " + (getIndex() + 1));
+            drawSchedule(canvas.getGraphicsContext2D(), schedule);
+            fillDetails(schedule);
+            setGraphic(card);
         }
 
-        // Asignar colores a materias
-        Map<String, String> subjectColors = new HashMap<>();
-        String[] palette = {"#9c5d5dff", "#4ECDC4", "#45B7D1", "#FFA07A", "#769e66ff", "#3a3f6eff", "#BB8FCE", "#85C1E2"};
-        
-        int idx = 0;
-        for (Course course : schedule) {
-             if (!subjectColors.containsKey(course.getSubject())) {
-                 subjectColors.put(course.getSubject(), palette[idx % palette.length]);
-                 idx++;
-             }
-        }
-
-        // Dibujar bloques de cursos
-        for (Course course : schedule) {
-            String color = subjectColors.get(course.getSubject());
-            for (var slot : course.getSchedules()) {
-                int dayIdx = getDayIndex(slot.getDay());
-                if (dayIdx == -1) continue;
-
-                double x = timeColWidth + (dayIdx * colWidth) + 2;
-                double y = headerHeight + ((slot.getStart() - (startHour * 60)) * pxPerMin);
-                double height = (slot.getEnd() - slot.getStart()) * pxPerMin;
-
-                // Asegurar que no se salga del panel
-                if (y < headerHeight) y = headerHeight;
-                if (y + height > totalHeight) height = totalHeight - y;
-
-
-                Rectangle rect = new Rectangle(x, y, colWidth - 6, height);
-                rect.setFill(javafx.scene.paint.Color.web(color));
-                rect.setArcWidth(3);
-                rect.setArcHeight(3);
-                rect.setOpacity(0.9);
-                rect.setStroke(javafx.scene.paint.Color.web("#dbdbdbff"));
-                rect.setStrokeWidth(2);
-                pane.getChildren().add(rect);
-
-                // Etiqueta del curso
-                String courseName = course.getSubject();
-                
-                Label lbl = new Label(courseName + "\nGrupo " + course.getGroup());
-                lbl.setFont(Font.font("Segoe UI", FontWeight.BOLD, 9));
-                lbl.setTextFill(javafx.scene.paint.Color.WHITE);
-                lbl.setWrapText(true);
-                lbl.setMaxWidth(colWidth - 10);
-                lbl.setLayoutX(x + 5);
-                lbl.setLayoutY(y + 5);
-                lbl.setStyle("-fx-effect: dropshadow(gaussian, rgba(0,0,0,0.5), 2, 0, 1, 1);");
-                pane.getChildren().add(lbl);
+        private void drawSchedule(GraphicsContext gc, List<Course> schedule) {
+            // Fondo, área de horas y encabezado de días
+            gc.setFill(Color.web("#2a2a2a"));
+            gc.fillRect(0, 0, TOTAL_WIDTH, TOTAL_HEIGHT);
+            gc.setFill(Color.web("#1f1f1f"));
+            gc.fillRect(0, 0, TIME_COL_WIDTH, TOTAL_HEIGHT);
+            gc.fillRect(TIME_COL_WIDTH, 0, TOTAL_WIDTH - TIME_COL_WIDTH, HEADER_HEIGHT);
+
+            // Etiquetas de días
+            String[] days = {"LUN", "MAR", "MIÉ", "JUE", "VIE"};
+            gc.setFill(Color.web(PRIMARY_COLOR));
+            gc.setFont(Font.font("Segoe UI", FontWeight.BOLD, 12));
+            gc.setTextAlign(TextAlignment.CENTER);
+            gc.setTextBaseline(VPos.CENTER);
+            for (int i = 0; i < days.length; i++) {
+                gc.fillText(days[i], TIME_COL_WIDTH + (i + 0.5) * COL_WIDTH, HEADER_HEIGHT / 2);
             }
-        }
-
-        return pane;
-    }
 
-    private VBox createTextualDetails(List<Course> schedule) {
-        VBox box = new VBox(10);
-        box.setPadding(new Insets(10));
-        box.setPrefWidth(300);
-        
-        Label title = new Label("Detalles de Grupos");
-        title.setFont(Font.font("Segoe UI", FontWeight.BOLD, 14));
-        title.setStyle("-fx-text-fill: " + SECONDARY_COLOR + ";");
-        box.getChildren().add(title);
-        
-        Separator metricsSep = new Separator();
-        metricsSep.setStyle("-fx-background-color: #555;");
-        box.getChildren().add(metricsSep);
+            // Líneas verticales para separar días
+            gc.setStroke(Color.web("#3a3a3a"));
+            for (int i = 0; i <= 6; i++) {
+                double x = TIME_COL_WIDTH + (i * COL_WIDTH);
+                gc.setLineWidth(i == 0 ? 2 : 1);
+                gc.strokeLine(x, HEADER_HEIGHT, x, TOTAL_HEIGHT);
+            }
 
-        for (Course course : schedule) {
-            VBox item = new VBox(3);
-            item.setStyle("-fx-border-color: #555; -fx-border-width: 0 0 1 0; -fx-padding: 5;");
-            
-            Label name = new Label(course.getSubject());
-            name.setFont(Font.font("Segoe UI", FontWeight.BOLD, 12));
-            name.setStyle("-fx-text-fill: " + TEXT_COLOR + ";");
-            name.setWrapText(true);
-            
-            Label group = new Label("Grupo: " + course.getGroup());
-            group.setStyle("-fx-text-fill: " + ACCENT_COLOR + ";");
+            // Líneas de tiempo y etiquetas
+            gc.setTextAlign(TextAlignment.LEFT);
+            gc.setFont(Font.font("Segoe UI", FontWeight.BOLD, 11));
+            for (int h = START_HOUR; h <= END_HOUR; h++) {
+                double y = HEADER_HEIGHT + ((h - START_HOUR) * 60 * PX_PER_MIN);
+                gc.setFill(Color.web("#CCCCCC"));
+                gc.fillText(String.format("%02d:00", h), 8, y);
+
+                gc.setLineDashes();
+                gc.setLineWidth(0.5);
+                gc.setStroke(Color.web("#3a3a3a"));
+                gc.strokeLine(TIME_COL_WIDTH, y, TOTAL_WIDTH, y);
+
+                // Líneas de media hora (más tenues)
+                if (h < END_HOUR) {
+                    double halfY = y + (30 * PX_PER_MIN);
+                    gc.setStroke(Color.web("#2d2d2d"));
+                    gc.setLineDashes(3, 3);
+                    gc.strokeLine(TIME_COL_WIDTH, halfY, TOTAL_WIDTH, halfY);
+                }
+            }
+            gc.setLineDashes();
+
+            // Línea horizontal separadora del encabezado y borde
+            gc.setStroke(Color.web(PRIMARY_COLOR));
+            gc.setLineWidth(2);
+            gc.strokeLine(0, HEADER_HEIGHT, TOTAL_WIDTH, HEADER_HEIGHT);
+            gc.strokeRect(1, 1, TOTAL_WIDTH - 2, TOTAL_HEIGHT - 2);
+
+            // Asignar colores a materias
+            Map<String, String> subjectColors = new HashMap<>();
+            String[] palette = {"#9c5d5dff", "#4ECDC4", "#45B7D1", "#FFA07A", "#769e66ff", "#3a3f6eff", "#BB8FCE", "#85C1E2"};
+            for (Course course : schedule) {
+                if (!subjectColors.containsKey(course.getSubject())) {
+                    subjectColors.put(course.getSubject(), palette[subjectColors.size() % palette.length]);
+                }
+            }
 
-            StringBuilder times = new StringBuilder();
-            for(var slot : course.getSchedules()) {
-                times.append(slot.toString()).append("\n");
+            // Dibujar bloques de cursos
+            gc.setFont(Font.font("Segoe UI", FontWeight.BOLD, 9));
+            gc.setTextBaseline(VPos.TOP);
+            for (Course course : schedule) {
+                Color color = Color.web(subjectColors.get(course.getSubject()));
+                for (var slot : course.getSchedules()) {
+                    int dayIdx = slot.getDayIndex();
+                    if (dayIdx > Weekday.VIERNES.ordinal()) continue; // solo se dibujan Lun-Vie
+
+                    double x = TIME_COL_WIDTH + (dayIdx * COL_WIDTH) + 2;
+                    double y = HEADER_HEIGHT + ((slot.getStart() - (START_HOUR * 60)) * PX_PER_MIN);
+                    double height = (slot.getEnd() - slot.getStart()) * PX_PER_MIN;
+
+                    // Asegurar que no se salga del panel
+                    if (y < HEADER_HEIGHT) y = HEADER_HEIGHT;
+                    if (y + height > TOTAL_HEIGHT) height = TOTAL_HEIGHT - y;
+
+                    gc.setGlobalAlpha(0.9);
+                    gc.setFill(color);
+                    gc.fillRoundRect(x, y, COL_WIDTH - 6, height, 3, 3);
+                    gc.setGlobalAlpha(1.0);
+                    gc.setStroke(Color.web("#dbdbdbff"));
+                    gc.setLineWidth(2);
+                    gc.strokeRoundRect(x, y, COL_WIDTH - 6, height, 3, 3);
+
+                    // Etiqueta del curso
+                    gc.setFill(Color.WHITE);
+                    gc.fillText(course.getSubject() + "\nGrupo " + course.getGroup(), x + 5, y + 5, COL_WIDTH - 16);
+                }
             }
-            Label timeLbl = new Label(times.toString());
-            timeLbl.setStyle("-fx-text-fill: #aaa; -fx-font-size: 11px;");
+        }
 
-            item.getChildren().addAll(name, group, timeLbl);
-            box.getChildren().add(item);
+        private void fillDetails(List<Course> schedule) {
+            // Solo se crean nodos nuevos si el horario tiene más materias que los anteriores
+            while (courseDetails.size() < schedule.size()) {
+                CourseDetails item = new CourseDetails();
+                courseDetails.add(item);
+                details.getChildren().add(item.box);
+            }
+            for (int i = 0; i < courseDetails.size(); i++) {
+                CourseDetails item = courseDetails.get(i);
+                boolean used = i < schedule.size();
+                item.box.setVisible(used);
+                item.box.setManaged(used);
+                if (used) {
+                    item.show(schedule.get(i));
+                }
+            }
         }
-        return box;
-    }
 
-    private int getDayIndex(String day) {
-        if (day == null) return -1;
-        switch(day.toLowerCase().trim()) {
-            case "lunes": return 0;
-            case "martes": return 1;
-            case "miercoles": return 2;
-            case "miércoles": return 2;
-            case "jueves": return 3;
-            case "viernes": return 4;
-            default: return -1;
+        /**
+         * Recuadro con la materia, el grupo y los bloques de un curso
+         */
+        private final class CourseDetails {
+            private final VBox box = new VBox(3);
+            private final Label name = new Label();
+            private final Label group = new Label();
+            private final Label times = new Label();
+
+            CourseDetails() {
+                box.setStyle("-fx-border-color: #555; -fx-border-width: 0 0 1 0; -fx-padding: 5;");
+                name.setFont(Font.font("Segoe UI", FontWeight.BOLD, 12));
+                name.setStyle("-fx-text-fill: " + TEXT_COLOR + ";");
+                name.setWrapText(true);
+                group.setStyle("-fx-text-fill: " + ACCENT_COLOR + ";");
+                times.setStyle("-fx-text-fill: #aaa; -fx-font-size: 11px;");
+                box.getChildren().addAll(name, group, times);
+            }
+
+            void show(Course course) {
+                name.setText(course.getSubject());
+                group.setText("Grupo: " + course.getGroup());
+                StringBuilder text = new StringBuilder();
+                for (var slot : course.getSchedules()) {
+                    text.append(slot.toString()).append("\n");
+                }
+                times.setText(text.toString());
+            }
         }
     }
 
     private void clearSelection() {
+        cancelSearch();
         subjectCheckBoxes.values().forEach(cb -> cb.setSelected(false));
         groupCheckBoxes.values().forEach(cb -> cb.setSelected(false));
+        showScheduleList(false);
         resultsContainer.getChildren().clear();
         
         Label placeholder = new Label("Presiona Generar para ver los horarios");
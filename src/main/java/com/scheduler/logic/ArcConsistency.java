@@ -0,0 +1,245 @@
+package com.scheduler.logic;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import com.scheduler.model.Course;
+
+/**
+ * Pre-chequeo de factibilidad con consistencia de arcos (AC-3)
+ *
+ * Cada materia pedida es una variable cuyo dominio son sus grupos; entre cada
+ * par de materias la restricción es "los grupos elegidos no chocan". AC-3 quita
+ * de cada dominio los grupos que no tienen ningún grupo compatible en alguna
+ * otra materia, hasta que no cambia nada.
+ *
+ * Si un dominio queda vacío no existe ningún horario, y se informa el menor
+ * conjunto de materias (por eliminación) que por sí solo ya es imposible. Los
+ * grupos quitados nunca forman parte de un horario válido, por lo que buscar
+ * sobre los dominios reducidos da exactamente los mismos horarios.
+ */
+public class ArcConsistency {
+
+    private final ConflictGraph conflictGraph;
+
+    public ArcConsistency(ConflictGraph conflictGraph) {
+        this.conflictGraph = conflictGraph;
+    }
+
+    /**
+     * Reduce los dominios de las materias pedidas
+     * @param desiredSubjects materias en el orden pedido
+     * @return dominios reducidos (en el mismo orden) y diagnóstico de factibilidad
+     */
+    public Result reduce(List<String> desiredSubjects) {
+        Map<String, List<Course>> coursesBySubject = conflictGraph.groupBySubject(desiredSubjects);
+        int subjects = desiredSubjects.size();
+
+        List<List<Course>> groups = new ArrayList<>(subjects);
+        for (String subject : desiredSubjects) {
+            List<Course> subjectGroups = coursesBySubject.get(subject);
+            if (subjectGroups == null || subjectGroups.isEmpty()) {
+                // Una materia sin grupos es imposible por sí sola
+                return new Result(Collections.emptyList(), List.of(subject), 0);
+            }
+            groups.add(subjectGroups);
+        }
+
+        Constraints constraints = new Constraints(groups);
+        List<Integer> all = new ArrayList<>(subjects);
+        for (int s = 0; s < subjects; s++) {
+            all.add(s);
+        }
+
+        long[][] domains = constraints.propagate(all);
+        if (domains != null) {
+            int pruned = 0;
+            List<List<Course>> reduced = new ArrayList<>(subjects);
+            for (int s = 0; s < subjects; s++) {
+                List<Course> kept = new ArrayList<>();
+                for (int g = 0; g < groups.get(s).size(); g++) {
+                    if ((domains[s][g >>> 6] & (1L << g)) != 0) {
+                        kept.add(groups.get(s).get(g));
+                    }
+                }
+                pruned += groups.get(s).size() - kept.size();
+                reduced.add(kept);
+            }
+            return new Result(reduced, Collections.emptyList(), pruned);
+        }
+
+        // Conjunto mínimo por eliminación: se descarta cada materia cuya ausencia
+        // mantiene la contradicción
+        List<Integer> core = new ArrayList<>(all);
+        for (int s = 0; s < subjects; s++) {
+            List<Integer> without = new ArrayList<>(core);
+            without.remove(Integer.valueOf(s));
+            if (constraints.propagate(without) == null) {
+                core = without;
+            }
+        }
+        List<String> conflicting = new ArrayList<>(core.size());
+        for (int s : core) {
+            conflicting.add(desiredSubjects.get(s));
+        }
+        return new Result(Collections.emptyList(), conflicting, 0);
+    }
+
+    /**
+     * Resultado del pre-chequeo
+     */
+    public static class Result {
+        private final List<List<Course>> domains;
+        private final List<String> conflictingSubjects;
+        private final int prunedGroups;
+
+        Result(List<List<Course>> domains, List<String> conflictingSubjects, int prunedGroups) {
+            this.domains = domains;
+            this.conflictingSubjects = conflictingSubjects;
+            this.prunedGroups = prunedGroups;
+        }
+
+        /**
+         * false si ya se sabe que no existe ningún horario
+         */
+        public boolean isFeasible() {
+            return conflictingSubjects.isEmpty();
+        }
+
+        /**
+         * Grupos que sobreviven por materia, en el orden pedido (vacío si no es factible)
+         */
+        public List<List<Course>> getDomains() {
+            return domains;
+        }
+
+        /**
+         * Menor conjunto de materias que no pueden cursarse juntas (vacío si es factible)
+         */
+        public List<String> getConflictingSubjects() {
+            return conflictingSubjects;
+        }
+
+        public int getPrunedGroups() {
+            return prunedGroups;
+        }
+    }
+
+    /**
+     * Restricciones entre los grupos de las materias, como bitsets por par de materias
+     */
+    private class Constraints {
+        private final int[] sizes;
+        private final long[][][][] supports; // [materia][grupo][otra materia] = grupos de la otra compatibles
+
+        Constraints(List<List<Course>> groups) {
+            int subjects = groups.size();
+            this.sizes = new int[subjects];
+            int[][] indices = new int[subjects][];
+            for (int s = 0; s < subjects; s++) {
+                sizes[s] = groups.get(s).size();
+                indices[s] = new int[sizes[s]];
+                for (int g = 0; g < sizes[s]; g++) {
+                    indices[s][g] = conflictGraph.indexOf(groups.get(s).get(g));
+                }
+            }
+
+            this.supports = new long[subjects][][][];
+            for (int s = 0; s < subjects; s++) {
+                supports[s] = new long[sizes[s]][subjects][];
+                for (int g = 0; g < sizes[s]; g++) {
+                    for (int t = 0; t < subjects; t++) {
+                        if (t == s) continue;
+                        long[] row = new long[words(t)];
+                        for (int h = 0; h < sizes[t]; h++) {
+                            if (!conflictGraph.conflicts(indices[s][g], indices[t][h])) {
+                                row[h >>> 6] |= 1L << h;
+                            }
+                        }
+                        supports[s][g][t] = row;
+                    }
+                }
+            }
+        }
+
+        private int words(int subject) {
+            return (sizes[subject] + 63) >>> 6;
+        }
+
+        /**
+         * AC-3 restringido a las materias dadas
+         * @return dominios consistentes, o null si alguno quedó vacío
+         */
+        long[][] propagate(List<Integer> active) {
+            long[][] domains = new long[sizes.length][];
+            for (int s : active) {
+                domains[s] = new long[words(s)];
+                for (int g = 0; g < sizes[s]; g++) {
+                    domains[s][g >>> 6] |= 1L << g;
+                }
+            }
+
+            ArrayDeque<int[]> queue = new ArrayDeque<>();
+            for (int s : active) {
+                for (int t : active) {
+                    if (s != t) queue.add(new int[]{s, t});
+                }
+            }
+
+            while (!queue.isEmpty()) {
+                int[] arc = queue.poll();
+                int s = arc[0];
+                int t = arc[1];
+                if (revise(domains, s, t)) {
+                    if (isEmpty(domains[s])) {
+                        return null;
+                    }
+                    // El dominio de s cambió: revisar los arcos que apuntan a s
+                    for (int u : active) {
+                        if (u != s && u != t) queue.add(new int[]{u, s});
+                    }
+                }
+            }
+            return domains;
+        }
+
+        /**
+         * Quita de s los grupos sin ningún grupo compatible en t
+         * @return true si el dominio de s cambió
+         */
+        private boolean revise(long[][] domains, int s, int t) {
+            boolean changed = false;
+            long[] domain = domains[s];
+            long[] other = domains[t];
+            for (int w = 0; w < domain.length; w++) {
+                long bits = domain[w];
+                while (bits != 0) {
+                    int g = (w << 6) + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    if (!intersects(supports[s][g][t], other)) {
+                        domain[w] &= ~(1L << g);
+                        changed = true;
+                    }
+                }
+            }
+            return changed;
+        }
+
+        private boolean intersects(long[] a, long[] b) {
+            for (int w = 0; w < a.length; w++) {
+                if ((a[w] & b[w]) != 0) return true;
+            }
+            return false;
+        }
+
+        private boolean isEmpty(long[] domain) {
+            for (long word : domain) {
+                if (word != 0) return false;
+            }
+            return true;
+        }
+    }
+}
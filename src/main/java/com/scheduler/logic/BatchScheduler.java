@@ -0,0 +1,291 @@
+package com.scheduler.logic;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.scheduler.model.Course;
+
+/**
+ * Procesa en lote las solicitudes de muchos estudiantes sobre un mismo catálogo
+ *
+ * Cada línea del archivo de entrada es una solicitud: materias separadas por
+ * punto y coma (algunos nombres del catálogo llevan comas) y, opcionalmente, la
+ * prioridad tras una barra ("Matematica I; Fisica I | LESS_GAPS"). Las líneas
+ * vacías y las que empiezan con # se ignoran. El grafo de conflictos se
+ * construye una sola vez y todos los hilos comparten el mismo {@link Scheduler},
+ * que guarda el estado de cada búsqueda en la propia llamada.
+ *
+ * Las solicitudes repetidas (el mismo conjunto de materias y prioridad, en
+ * cualquier orden) se sirven desde una {@link ScheduleCache} compartida; por
+ * eso las materias se buscan en el orden canónico de la clave. La caché
+ * pertenece a esta instancia, atada a un solo grafo, así que nunca mezcla
+ * resultados de catálogos distintos.
+ *
+ * Si una solicitud no admite ningún horario, su línea incluye el menor conjunto
+ * de materias incompatibles ("conflictingSubjects").
+ *
+ * Los resultados se escriben como JSON, una línea por solicitud y en el orden
+ * de entrada, a medida que se completan: solo se mantiene en memoria una
+ * ventana acotada de solicitudes en curso.
+ */
+public class BatchScheduler {
+
+    private static final int IN_FLIGHT_PER_THREAD = 64; // solicitudes pendientes por hilo antes de esperar
+    private static final int CACHE_ENTRIES = 4096;
+
+    private final ConflictGraph conflictGraph;
+    private final Scheduler scheduler;
+    private final int threads;
+    private final int topSchedules;
+    private final Gson gson = new Gson();
+    private final ScheduleCache cache = new ScheduleCache(CACHE_ENTRIES);
+
+    /**
+     * @param conflictGraph grafo de conflictos del catálogo, compartido por todos los hilos
+     * @param threads cantidad de hilos que atienden solicitudes
+     * @param topSchedules mejores horarios que se informan por solicitud
+     */
+    public BatchScheduler(ConflictGraph conflictGraph, int threads, int topSchedules) {
+        this.conflictGraph = conflictGraph;
+        this.scheduler = new Scheduler(conflictGraph);
+        this.threads = Math.max(1, threads);
+        this.topSchedules = Math.max(1, topSchedules);
+    }
+
+    /**
+     * Atiende todas las solicitudes del archivo de entrada
+     * @param input archivo de solicitudes, una por línea
+     * @param output archivo donde se escriben los resultados (JSON por línea)
+     * @return estadísticas de la ejecución
+     * @throws IOException si no se puede leer la entrada o escribir la salida
+     */
+    public Report process(Path input, Path output) throws IOException {
+        AtomicInteger workerCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task, "lote-" + workerCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        List<Long> latenciesNs = new ArrayList<>();
+        int failed = 0;
+        long start = System.nanoTime();
+        try (BufferedReader reader = Files.newBufferedReader(input, StandardCharsets.UTF_8);
+             BufferedWriter writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            ArrayDeque<Future<Result>> pending = new ArrayDeque<>();
+            int window = threads * IN_FLIGHT_PER_THREAD;
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                String request = line.trim();
+                if (request.isEmpty() || request.startsWith("#")) {
+                    continue;
+                }
+                int number = lineNumber;
+                long submitted = System.nanoTime(); // la latencia incluye la espera en la cola del pool
+                pending.add(executor.submit(() -> solve(number, request, submitted)));
+
+                // Escribir en orden las solicitudes más antiguas cuando la ventana se llena
+                while (pending.size() >= window) {
+                    failed += write(pending.poll(), writer, latenciesNs);
+                }
+            }
+            while (!pending.isEmpty()) {
+                failed += write(pending.poll(), writer, latenciesNs);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        long elapsedNs = System.nanoTime() - start;
+
+        long[] sorted = latenciesNs.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(sorted);
+        return new Report(sorted, failed, elapsedNs, threads, cache.toString());
+    }
+
+    private int write(Future<Result> future, BufferedWriter writer, List<Long> latenciesNs) throws IOException {
+        Result result;
+        try {
+            result = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Procesamiento en lote interrumpido", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Error inesperado al procesar una solicitud", e.getCause());
+        }
+        writer.write(gson.toJson(result.json));
+        writer.newLine();
+        latenciesNs.add(result.latencyNs);
+        return result.failed ? 1 : 0;
+    }
+
+    /**
+     * Resuelve una solicitud; los errores de formato y las materias que no
+     * existen en el catálogo se informan en su línea de salida
+     * @param submitted momento (System.nanoTime) en que la solicitud se envió al pool
+     */
+    private Result solve(int lineNumber, String request, long submitted) {
+        JsonObject json = new JsonObject();
+        json.addProperty("line", lineNumber);
+
+        String[] parts = request.split("\\|", 2);
+        List<String> subjects = Arrays.stream(parts[0].split(";"))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .collect(Collectors.toList());
+        PriorityType priority = parsePriority(parts.length > 1 ? parts[1].trim() : "");
+
+        JsonArray subjectsJson = new JsonArray();
+        subjects.forEach(subjectsJson::add);
+        json.add("subjects", subjectsJson);
+
+        if (subjects.isEmpty() || priority == null) {
+            json.addProperty("error", subjects.isEmpty()
+                    ? "No se indicaron materias"
+                    : "Prioridad no válida: " + parts[1].trim());
+            return new Result(json, System.nanoTime() - submitted, true);
+        }
+        json.addProperty("priority", priority.name());
+
+        Map<String, List<Course>> known = conflictGraph.groupBySubject(subjects);
+        List<String> unknown = subjects.stream()
+                .filter(subject -> !known.containsKey(subject))
+                .distinct()
+                .collect(Collectors.toList());
+        if (!unknown.isEmpty()) {
+            json.addProperty("error", "Materias inexistentes en el catálogo: " + String.join("; ", unknown));
+            return new Result(json, System.nanoTime() - submitted, true);
+        }
+
+        ScheduleCache.Key key = ScheduleCache.Key.forSubjects(subjects, priority, "top" + topSchedules);
+        List<List<Course>> best = cache.getOrCompute(key,
+            () -> scheduler.generateTopSchedules(key.getItems(), priority, topSchedules));
+
+        JsonArray schedulesJson = new JsonArray();
+        for (List<Course> schedule : best) {
+            JsonArray ids = new JsonArray();
+            for (Course course : schedule) {
+                ids.add(course.getId());
+            }
+            schedulesJson.add(ids);
+        }
+        json.add("schedules", schedulesJson);
+        if (best.isEmpty()) {
+            // Sin horarios: informar qué materias no pueden cursarse juntas
+            JsonArray conflictingJson = new JsonArray();
+            scheduler.checkFeasibility(key.getItems()).getConflictingSubjects().forEach(conflictingJson::add);
+            json.add("conflictingSubjects", conflictingJson);
+        }
+
+        long latencyNs = System.nanoTime() - submitted;
+        json.addProperty("latencyMs", latencyNs / 1_000_000.0);
+        return new Result(json, latencyNs, false);
+    }
+
+    /**
+     * Acepta el nombre de la prioridad o el número del modo consola (1 o 2)
+     * @return la prioridad, FEWER_DAYS si no se indicó, o null si no es válida
+     */
+    private static PriorityType parsePriority(String text) {
+        switch (text.toUpperCase()) {
+            case "":
+            case "1":
+            case "FEWER_DAYS":
+                return PriorityType.FEWER_DAYS;
+            case "2":
+            case "LESS_GAPS":
+                return PriorityType.LESS_GAPS;
+            default:
+                return null;
+        }
+    }
+
+    private static class Result {
+        final JsonObject json;
+        final long latencyNs;
+        final boolean failed;
+
+        Result(JsonObject json, long latencyNs, boolean failed) {
+            this.json = json;
+            this.latencyNs = latencyNs;
+            this.failed = failed;
+        }
+    }
+
+    /**
+     * Estadísticas de un procesamiento en lote: rendimiento y percentiles de latencia
+     */
+    public static class Report {
+        private final long[] sortedLatenciesNs;
+        private final int failed;
+        private final long elapsedNs;
+        private final int threads;
+        private final String cacheSummary;
+
+        Report(long[] sortedLatenciesNs, int failed, long elapsedNs, int threads, String cacheSummary) {
+            this.sortedLatenciesNs = sortedLatenciesNs;
+            this.failed = failed;
+            this.elapsedNs = elapsedNs;
+            this.threads = threads;
+            this.cacheSummary = cacheSummary;
+        }
+
+        public int getRequests() {
+            return sortedLatenciesNs.length;
+        }
+
+        public int getFailed() {
+            return failed;
+        }
+
+        public double getElapsedSeconds() {
+            return elapsedNs / 1_000_000_000.0;
+        }
+
+        /**
+         * Solicitudes atendidas por segundo de reloj
+         */
+        public double getThroughput() {
+            return getRequests() / Math.max(1e-9, getElapsedSeconds());
+        }
+
+        /**
+         * Latencia de una solicitud (desde que se envía al pool hasta que termina) en el
+         * percentil dado (rango más cercano), en milisegundos
+         */
+        public double getLatencyMs(double percentile) {
+            if (sortedLatenciesNs.length == 0) {
+                return 0.0;
+            }
+            int rank = (int) Math.ceil(percentile / 100.0 * sortedLatenciesNs.length);
+            return sortedLatenciesNs[Math.max(0, rank - 1)] / 1_000_000.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d solicitudes (%d con error) en %.2f s con %d hilos: %.1f solicitudes/s%n"
+                    + "Latencia (ms): p50 %.2f, p90 %.2f, p99 %.2f, máx %.2f%n%s",
+                getRequests(), failed, getElapsedSeconds(), threads, getThroughput(),
+                getLatencyMs(50), getLatencyMs(90), getLatencyMs(99), getLatencyMs(100), cacheSummary);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.scheduler.logic;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.scheduler.model.Course;
+import com.scheduler.model.TimeSlot;
+import com.scheduler.model.Weekday;
+
+/**
+ * Generador determinista de catálogos sintéticos
+ *
+ * Produce cursos con la misma forma que courses.json pero del tamaño que se
+ * necesite, para medir los algoritmos con catálogos realistas (miles de grupos).
+ * La semana se divide en bloques de 100 minutos desde las 7:00; cada sesión de
+ * un grupo ocupa un bloque. Con probabilidad {@code overlapProbability} la sesión
+ * se ubica en un bloque ya usado por otra materia, y si no en uno libre (cuando
+ * ya no quedan libres se elige cualquiera).
+ *
+ * La misma semilla y los mismos parámetros generan siempre el mismo catálogo.
+ */
+public class CatalogGenerator {
+
+    private static final Weekday[] DAYS = Weekday.values();
+    private static final int FIRST_START = 420;   // 7:00
+    private static final int BLOCK_MINUTES = 100;
+    private static final int BLOCKS_PER_DAY = 9;  // hasta las 22:00
+
+    private final int subjects;
+    private final int groupsPerSubject;
+    private final int sessionsPerGroup;
+    private final int daySpread;
+    private final double overlapProbability;
+    private final long seed;
+
+    /**
+     * @param subjects cantidad de materias
+     * @param groupsPerSubject grupos de cada materia
+     * @param sessionsPerGroup sesiones semanales de cada grupo
+     * @param daySpread días de la semana que se usan (1 = solo Lunes ... 7 = toda la semana)
+     * @param overlapProbability probabilidad (0-1) de que una sesión comparta bloque con otra materia
+     * @param seed semilla del generador aleatorio
+     */
+    public CatalogGenerator(int subjects, int groupsPerSubject, int sessionsPerGroup,
+                            int daySpread, double overlapProbability, long seed) {
+        if (subjects < 1 || groupsPerSubject < 1 || sessionsPerGroup < 1) {
+            throw new IllegalArgumentException("Materias, grupos y sesiones deben ser al menos 1");
+        }
+        if (daySpread < 1 || daySpread > DAYS.length) {
+            throw new IllegalArgumentException("Los días deben estar entre 1 y " + DAYS.length + ": " + daySpread);
+        }
+        if (sessionsPerGroup > daySpread * BLOCKS_PER_DAY) {
+            throw new IllegalArgumentException("No hay bloques suficientes para " + sessionsPerGroup + " sesiones");
+        }
+        if (overlapProbability < 0 || overlapProbability > 1) {
+            throw new IllegalArgumentException("La probabilidad de solapamiento debe estar entre 0 y 1: " + overlapProbability);
+        }
+        this.subjects = subjects;
+        this.groupsPerSubject = groupsPerSubject;
+        this.sessionsPerGroup = sessionsPerGroup;
+        this.daySpread = daySpread;
+        this.overlapProbability = overlapProbability;
+        this.seed = seed;
+    }
+
+    /**
+     * Genera el catálogo: las materias en orden y, dentro de cada una, sus grupos
+     */
+    public List<Course> generate() {
+        Random random = new Random(seed);
+        int cells = daySpread * BLOCKS_PER_DAY;
+        int[] owner = new int[cells]; // materia que ocupó primero cada bloque (-1 = libre)
+        Arrays.fill(owner, -1);
+        int[] candidates = new int[cells];
+        boolean[] usedByGroup = new boolean[cells];
+
+        List<Course> catalog = new ArrayList<>(subjects * groupsPerSubject);
+        for (int s = 0; s < subjects; s++) {
+            String subject = subjectName(s);
+            String code = String.format("M%0" + digits(subjects) + "d", s + 1);
+
+            for (int g = 0; g < groupsPerSubject; g++) {
+                List<TimeSlot> slots = new ArrayList<>(sessionsPerGroup);
+                Arrays.fill(usedByGroup, false);
+
+                for (int k = 0; k < sessionsPerGroup; k++) {
+                    boolean overlapping = random.nextDouble() < overlapProbability;
+                    int cell = pickCell(random, owner, usedByGroup, candidates, s, overlapping);
+                    usedByGroup[cell] = true;
+                    if (owner[cell] == -1) owner[cell] = s;
+
+                    int start = FIRST_START + (cell % BLOCKS_PER_DAY) * BLOCK_MINUTES;
+                    slots.add(new TimeSlot(DAYS[cell / BLOCKS_PER_DAY], start, start + BLOCK_MINUTES));
+                }
+                // Sesiones en orden de la semana, como en courses.json
+                slots.sort(Comparator.comparingInt(TimeSlot::getWeekStart));
+
+                String group = groupName(g);
+                catalog.add(new Course(code + "-" + group, subject, group, 1 + s % 5, slots));
+            }
+        }
+        return catalog;
+    }
+
+    /**
+     * Elige un bloque que el grupo aún no usa, ocupado por otra materia o libre según se pida
+     */
+    private static int pickCell(Random random, int[] owner, boolean[] usedByGroup, int[] candidates,
+                                int subject, boolean overlapping) {
+        int count = 0;
+        for (int cell = 0; cell < owner.length; cell++) {
+            boolean taken = owner[cell] != -1 && owner[cell] != subject;
+            if (!usedByGroup[cell] && taken == overlapping) {
+                candidates[count++] = cell;
+            }
+        }
+        if (count == 0) {
+            for (int cell = 0; cell < owner.length; cell++) {
+                if (!usedByGroup[cell]) {
+                    candidates[count++] = cell;
+                }
+            }
+        }
+        return candidates[random.nextInt(count)];
+    }
+
+    /**
+     * Nombre de la materia de índice dado, igual al que usa {@link #generate()}
+     */
+    public String subjectName(int index) {
+        return String.format("Materia %0" + digits(subjects) + "d", index + 1);
+    }
+
+    /**
+     * Nombres de todas las materias generadas, en orden
+     */
+    public List<String> subjectNames() {
+        List<String> names = new ArrayList<>(subjects);
+        for (int s = 0; s < subjects; s++) {
+            names.add(subjectName(s));
+        }
+        return names;
+    }
+
+    private static int digits(int count) {
+        return String.valueOf(count).length();
+    }
+
+    // A, B, ..., Z, AA, AB, ...
+    private static String groupName(int index) {
+        StringBuilder name = new StringBuilder();
+        for (int i = index; i >= 0; i = i / 26 - 1) {
+            name.insert(0, (char) ('A' + i % 26));
+        }
+        return name.toString();
+    }
+
+    /**
+     * Escribe un catálogo en formato JSON (el mismo que lee {@link DataLoader})
+     */
+    public static void writeJson(List<Course> catalog, Path output) throws IOException {
+        Gson gson = new GsonBuilder().setPrettyPrinting().create();
+        try (Writer writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            gson.toJson(catalog, writer);
+        }
+    }
+
+    /**
+     * Uso: CatalogGenerator --out archivo.json [--subjects N] [--groups N] [--sessions N]
+     *      [--days N] [--overlap P] [--seed S]
+     */
+    public static void main(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            options.put(args[i], args[i + 1]);
+        }
+        if (args.length % 2 != 0 || !options.containsKey("--out")) {
+            System.err.println("Uso: CatalogGenerator --out archivo.json [--subjects 500] [--groups 10]"
+                    + " [--sessions 2] [--days 5] [--overlap 0.3] [--seed 42]");
+            return;
+        }
+
+        try {
+            CatalogGenerator generator = new CatalogGenerator(
+                    Integer.parseInt(options.getOrDefault("--subjects", "500")),
+                    Integer.parseInt(options.getOrDefault("--groups", "10")),
+                    Integer.parseInt(options.getOrDefault("--sessions", "2")),
+                    Integer.parseInt(options.getOrDefault("--days", "5")),
+                    Double.parseDouble(options.getOrDefault("--overlap", "0.3")),
+                    Long.parseLong(options.getOrDefault("--seed", "42")));
+
+            List<Course> catalog = generator.generate();
+            Path output = Paths.get(options.get("--out"));
+            writeJson(catalog, output);
+            System.out.println("Catálogo generado: " + catalog.size() + " grupos en " + output);
+        } catch (IllegalArgumentException | IOException e) {
+            System.err.println("Error al generar el catálogo: " + e.getMessage());
+        }
+    }
+}
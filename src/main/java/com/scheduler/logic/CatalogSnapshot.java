@@ -0,0 +1,346 @@
+package com.scheduler.logic;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+import com.scheduler.model.Course;
+import com.scheduler.model.TimeSlot;
+import com.scheduler.model.Weekday;
+
+/**
+ * Instantánea binaria de un catálogo, cargada con memoria mapeada
+ *
+ * Formato (enteros de 4 bytes, big-endian):
+ * - Encabezado: "CSNP", versión, cantidad de cadenas, de cursos y de bloques,
+ *   y la posición de cada sección
+ * - Tabla de cadenas: posición de cada cadena y luego sus bytes UTF-8
+ * - Cursos: registros fijos (id, materia, grupo, año, primer bloque, cantidad de bloques)
+ * - Bloques: registros fijos (día, inicio, fin)
+ *
+ * Las cadenas se guardan una sola vez y se referencian por índice (-1 = null).
+ * Al cargar se valida cada registro (referencias, días e intervalos) sin crear
+ * objetos, así que un archivo dañado se rechaza en {@link #load(Path)}. Cada
+ * {@link Course} se arma recién cuando se accede y luego se reutiliza la misma
+ * instancia. Los modos de la aplicación igual recorren todos los cursos para
+ * indexarlos en el {@link ConflictGraph}, así que frente al JSON se ahorra el
+ * parseo; el grafo, en cambio, arma sus filas de conflictos solo para los grupos
+ * que se consultan.
+ */
+public class CatalogSnapshot {
+
+    private static final byte[] MAGIC = {'C', 'S', 'N', 'P'};
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+    private static final int COURSE_BYTES = 24;
+    private static final int SLOT_BYTES = 12;
+
+    /**
+     * Indica si el archivo comienza con la firma de una instantánea
+     */
+    public static boolean isSnapshot(Path path) {
+        try (InputStream in = Files.newInputStream(path)) {
+            byte[] magic = in.readNBytes(MAGIC.length);
+            return Arrays.equals(magic, MAGIC);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Escribe el catálogo en formato binario
+     */
+    public static void write(List<Course> courses, Path output) throws IOException {
+        Map<String, Integer> stringIds = new HashMap<>();
+        List<byte[]> strings = new ArrayList<>();
+        int slotCount = 0;
+        for (Course course : courses) {
+            slotCount += course.getSchedules().size();
+        }
+
+        ByteBuffer courseRecords = ByteBuffer.allocate(courses.size() * COURSE_BYTES);
+        ByteBuffer slotRecords = ByteBuffer.allocate(slotCount * SLOT_BYTES);
+        int firstSlot = 0;
+        for (Course course : courses) {
+            List<TimeSlot> slots = course.getSchedules();
+            courseRecords.putInt(stringId(stringIds, strings, course.getId()));
+            courseRecords.putInt(stringId(stringIds, strings, course.getSubject()));
+            courseRecords.putInt(stringId(stringIds, strings, course.getGroup()));
+            courseRecords.putInt(course.getYear());
+            courseRecords.putInt(firstSlot);
+            courseRecords.putInt(slots.size());
+            for (TimeSlot slot : slots) {
+                slotRecords.putInt(stringId(stringIds, strings, slot.getDay()));
+                slotRecords.putInt(slot.getStart());
+                slotRecords.putInt(slot.getEnd());
+            }
+            firstSlot += slots.size();
+        }
+
+        int stringBytes = 0;
+        for (byte[] bytes : strings) {
+            stringBytes += bytes.length;
+        }
+        int stringsOffset = HEADER_BYTES;
+        int coursesOffset = stringsOffset + 4 * (strings.size() + 1) + stringBytes;
+        int slotsOffset = coursesOffset + courseRecords.capacity();
+
+        ByteBuffer header = ByteBuffer.allocate(coursesOffset);
+        header.put(MAGIC);
+        header.putInt(VERSION);
+        header.putInt(strings.size());
+        header.putInt(courses.size());
+        header.putInt(slotCount);
+        header.putInt(stringsOffset);
+        header.putInt(coursesOffset);
+        header.putInt(slotsOffset);
+
+        // Posiciones relativas al inicio de los bytes; la última marca el final
+        int position = 0;
+        for (byte[] bytes : strings) {
+            header.putInt(position);
+            position += bytes.length;
+        }
+        header.putInt(position);
+        for (byte[] bytes : strings) {
+            header.put(bytes);
+        }
+
+        header.flip();
+        courseRecords.flip();
+        slotRecords.flip();
+        try (FileChannel channel = FileChannel.open(output, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer[] sections = {header, courseRecords, slotRecords};
+            while (header.hasRemaining() || courseRecords.hasRemaining() || slotRecords.hasRemaining()) {
+                channel.write(sections);
+            }
+        }
+    }
+
+    private static int stringId(Map<String, Integer> stringIds, List<byte[]> strings, String value) {
+        if (value == null) return -1;
+        return stringIds.computeIfAbsent(value, v -> {
+            strings.add(v.getBytes(StandardCharsets.UTF_8));
+            return strings.size() - 1;
+        });
+    }
+
+    /**
+     * Mapea el archivo en memoria, valida todos sus registros y devuelve sus
+     * cursos como una lista perezosa
+     * @throws IOException si el archivo no es una instantánea válida o está dañado
+     */
+    public static List<Course> load(Path path) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if (buffer.capacity() < HEADER_BYTES) {
+            throw new IOException("Instantánea incompleta: " + path);
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (buffer.get(i) != MAGIC[i]) {
+                throw new IOException("El archivo no es una instantánea de catálogo: " + path);
+            }
+        }
+        int version = buffer.getInt(4);
+        if (version != VERSION) {
+            throw new IOException("Versión de instantánea no soportada: " + version);
+        }
+
+        int stringCount = buffer.getInt(8);
+        int courseCount = buffer.getInt(12);
+        int slotCount = buffer.getInt(16);
+        if (stringCount < 0 || courseCount < 0 || slotCount < 0) {
+            throw damaged(path, "cantidades negativas en el encabezado");
+        }
+        MappedCatalog catalog = new MappedCatalog(buffer, stringCount, courseCount, slotCount,
+                buffer.getInt(20), buffer.getInt(24), buffer.getInt(28));
+        catalog.validate(path);
+        return catalog;
+    }
+
+    private static IOException damaged(Path path, String detail) {
+        return new IOException("Instantánea dañada (" + detail + "): " + path);
+    }
+
+    // La sección [offset, offset + length) cabe en el archivo
+    private static boolean fits(int offset, long length, int capacity) {
+        return offset >= 0 && offset + length <= capacity;
+    }
+
+    /**
+     * Cursos de una instantánea mapeada; cada uno se arma al primer acceso
+     */
+    private static class MappedCatalog extends AbstractList<Course> implements RandomAccess {
+        private final ByteBuffer buffer;
+        private final int stringCount;
+        private final int courseCount;
+        private final int slotCount;
+        private final int stringsOffset;
+        private final int coursesOffset;
+        private final int slotsOffset;
+        private final String[] strings;
+        private final Course[] courses;
+
+        MappedCatalog(ByteBuffer buffer, int stringCount, int courseCount, int slotCount,
+                      int stringsOffset, int coursesOffset, int slotsOffset) {
+            this.buffer = buffer;
+            this.stringCount = stringCount;
+            this.courseCount = courseCount;
+            this.slotCount = slotCount;
+            this.stringsOffset = stringsOffset;
+            this.coursesOffset = coursesOffset;
+            this.slotsOffset = slotsOffset;
+            this.strings = new String[stringCount];
+            this.courses = new Course[courseCount];
+        }
+
+        /**
+         * Recorre todos los registros sin armar cursos, para que un archivo
+         * dañado se rechace al cargarlo y no al primer acceso (que suele ocurrir
+         * al construir el grafo, fuera del manejo de errores del cargador)
+         */
+        void validate(Path path) throws IOException {
+            int capacity = buffer.capacity();
+            long dataStart = stringsOffset + 4L * (stringCount + 1);
+            if (!fits(stringsOffset, 4L * (stringCount + 1), capacity)
+                    || !fits(coursesOffset, (long) courseCount * COURSE_BYTES, capacity)
+                    || !fits(slotsOffset, (long) slotCount * SLOT_BYTES, capacity)) {
+                throw damaged(path, "secciones fuera del archivo");
+            }
+            int previous = 0;
+            for (int id = 0; id <= stringCount; id++) {
+                int position = buffer.getInt(stringsOffset + 4 * id);
+                if (position < previous || dataStart + position > capacity) {
+                    throw damaged(path, "tabla de cadenas inválida");
+                }
+                previous = position;
+            }
+
+            for (int index = 0; index < courseCount; index++) {
+                int record = coursesOffset + index * COURSE_BYTES;
+                for (int field = 0; field < 12; field += 4) {
+                    int id = buffer.getInt(record + field);
+                    if (id < -1 || id >= stringCount) {
+                        throw damaged(path, "el curso " + index + " usa una cadena inexistente");
+                    }
+                }
+                int firstSlot = buffer.getInt(record + 16);
+                int count = buffer.getInt(record + 20);
+                if (firstSlot < 0 || count < 0 || (long) firstSlot + count > slotCount) {
+                    throw damaged(path, "el curso " + index + " tiene bloques fuera de rango");
+                }
+            }
+
+            boolean[] knownDay = new boolean[stringCount]; // cadenas ya reconocidas como día
+            for (int slot = 0; slot < slotCount; slot++) {
+                int record = slotsOffset + slot * SLOT_BYTES;
+                int day = buffer.getInt(record);
+                int start = buffer.getInt(record + 4);
+                int end = buffer.getInt(record + 8);
+                if (day < 0 || day >= stringCount) {
+                    throw damaged(path, "el bloque " + slot + " no tiene día");
+                }
+                if (!knownDay[day]) {
+                    if (Weekday.parse(string(day)) == null) {
+                        throw damaged(path, "el bloque " + slot + " tiene un día desconocido: " + string(day));
+                    }
+                    knownDay[day] = true;
+                }
+                if (start < 0 || end <= start || end > Weekday.MINUTES_PER_DAY) {
+                    throw damaged(path, "el bloque " + slot + " tiene un intervalo inválido (inicio "
+                            + start + ", fin " + end + ")");
+                }
+            }
+        }
+
+        @Override
+        public int size() {
+            return courseCount;
+        }
+
+        @Override
+        public Course get(int index) {
+            if (index < 0 || index >= courseCount) {
+                throw new IndexOutOfBoundsException("Curso " + index + " fuera de rango (tamaño " + courseCount + ")");
+            }
+            Course course = courses[index];
+            return course != null ? course : materialize(index);
+        }
+
+        // Sincronizado para que todos los hilos vean la misma instancia de cada curso
+        private synchronized Course materialize(int index) {
+            if (courses[index] != null) {
+                return courses[index];
+            }
+            int record = coursesOffset + index * COURSE_BYTES;
+            int firstSlot = buffer.getInt(record + 16);
+            int count = buffer.getInt(record + 20);
+
+            List<TimeSlot> slots = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int slot = slotsOffset + (firstSlot + i) * SLOT_BYTES;
+                slots.add(new TimeSlot(string(buffer.getInt(slot)), buffer.getInt(slot + 4), buffer.getInt(slot + 8)));
+            }
+            Course course = new Course(string(buffer.getInt(record)), string(buffer.getInt(record + 4)),
+                    string(buffer.getInt(record + 8)), buffer.getInt(record + 12), slots);
+            courses[index] = course;
+            return course;
+        }
+
+        private String string(int id) {
+            if (id < 0 || id >= stringCount) return null;
+            String value = strings[id];
+            if (value == null) {
+                int table = stringsOffset + 4 * id;
+                int dataStart = stringsOffset + 4 * (stringCount + 1);
+                int start = buffer.getInt(table);
+                int length = buffer.getInt(table + 4) - start;
+                byte[] bytes = new byte[length];
+                buffer.get(dataStart + start, bytes);
+                value = new String(bytes, StandardCharsets.UTF_8);
+                strings[id] = value;
+            }
+            return value;
+        }
+    }
+
+    /**
+     * Convierte un catálogo JSON a instantánea binaria
+     * Uso: CatalogSnapshot entrada.json salida.bin
+     */
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            System.err.println("Uso: CatalogSnapshot entrada.json salida.bin");
+            return;
+        }
+        List<Course> courses = new DataLoader().loadCoursesFromFile(Paths.get(args[0]));
+        if (courses.isEmpty()) {
+            System.err.println("No se cargaron cursos desde " + args[0]);
+            return;
+        }
+        try {
+            write(courses, Paths.get(args[1]));
+            System.out.println("Instantánea generada: " + courses.size() + " grupos en " + args[1]);
+        } catch (IOException e) {
+            System.err.println("Error al escribir la instantánea: " + e.getMessage());
+        }
+    }
+}
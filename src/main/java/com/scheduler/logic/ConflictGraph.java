@@ -0,0 +1,158 @@
+package com.scheduler.logic;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.scheduler.model.Course;
+import com.scheduler.model.TimeSlot;
+
+/**
+ * Grafo de conflictos entre cursos, compartido por todas las búsquedas
+ *
+ * Cada curso recibe un índice denso (su posición en la lista original) y
+ * la matriz de adyacencia se guarda como filas de bits: el bit j de la fila i
+ * indica que los cursos i y j se solapan. Así los algoritmos consultan
+ * conflictos con una operación de bits en lugar de comparar horarios.
+ *
+ * Las filas se arman a demanda con un {@link SlotIndex}: la primera consulta
+ * sobre un curso pide solo los bloques que se cruzan con los suyos, en lugar
+ * de comparar todos los pares de cursos. Las búsquedas tocan únicamente los
+ * grupos de las materias pedidas, así que con catálogos grandes no se paga la
+ * matriz completa (n² bits) sino una fila por grupo consultado. El grafo puede
+ * compartirse entre hilos: si dos hilos arman la misma fila a la vez, ambos
+ * obtienen el mismo contenido.
+ */
+public class ConflictGraph {
+
+    private final List<Course> courses;
+    private final Map<Course, Integer> indexByCourse;
+    private final Map<String, List<Course>> coursesBySubject;
+    private final AtomicReferenceArray<long[]> adjacency;
+    private final int words;
+    private final SlotIndex slotIndex;
+
+    public ConflictGraph(List<Course> courses) {
+        this.courses = Collections.unmodifiableList(new ArrayList<>(courses));
+        this.indexByCourse = new IdentityHashMap<>();
+        this.coursesBySubject = new LinkedHashMap<>();
+        this.words = (courses.size() + 63) / 64;
+        this.adjacency = new AtomicReferenceArray<>(courses.size());
+
+        for (int i = 0; i < courses.size(); i++) {
+            Course course = courses.get(i);
+            indexByCourse.putIfAbsent(course, i);
+            coursesBySubject.computeIfAbsent(course.getSubject(), k -> new ArrayList<>()).add(course);
+        }
+        this.slotIndex = new SlotIndex(this.courses);
+    }
+
+    /**
+     * Índice de bloques horarios del catálogo, con los cursos en las mismas posiciones que el grafo
+     */
+    public SlotIndex getSlotIndex() {
+        return slotIndex;
+    }
+
+    public List<Course> getCourses() {
+        return courses;
+    }
+
+    public int size() {
+        return courses.size();
+    }
+
+    public Course getCourse(int index) {
+        return courses.get(index);
+    }
+
+    /**
+     * @return índice denso del curso, o -1 si no pertenece al grafo
+     */
+    public int indexOf(Course course) {
+        Integer index = indexByCourse.get(course);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Verifica si dos cursos (por índice) tienen conflicto de horario
+     */
+    public boolean conflicts(int a, int b) {
+        return (conflictRow(a)[b >>> 6] & (1L << b)) != 0;
+    }
+
+    /**
+     * Verifica si dos cursos tienen conflicto de horario.
+     * Los cursos que no pertenecen al grafo se comparan directamente.
+     */
+    public boolean conflicts(Course a, Course b) {
+        int i = indexOf(a);
+        int j = indexOf(b);
+        if (i < 0 || j < 0) {
+            return a.overlaps(b);
+        }
+        return conflicts(i, j);
+    }
+
+    /**
+     * Fila de adyacencia del curso (no debe modificarse)
+     */
+    public long[] conflictRow(int index) {
+        long[] row = adjacency.getAcquire(index);
+        if (row == null) {
+            row = buildRow(index);
+            adjacency.setRelease(index, row);
+        }
+        return row;
+    }
+
+    // Dos cursos chocan si algún par de sus bloques se cruza; la consulta es
+    // simétrica, así que las filas también lo son
+    private long[] buildRow(int index) {
+        long[] row = new long[words];
+        for (TimeSlot slot : courses.get(index).getSchedules()) {
+            slotIndex.forEachOverlap(slot.getWeekStart(), slot.getWeekEnd(),
+                j -> row[j >>> 6] |= 1L << j);
+        }
+        return row;
+    }
+
+    /**
+     * Crea un conjunto de cursos vacío, del tamaño de las filas de adyacencia
+     */
+    public long[] newCourseSet() {
+        return new long[words];
+    }
+
+    /**
+     * Cuenta cuántos cursos del conjunto tienen conflicto con el curso indicado
+     */
+    public int countConflicts(int index, long[] courseSet) {
+        long[] row = conflictRow(index);
+        int count = 0;
+        for (int w = 0; w < words; w++) {
+            count += Long.bitCount(row[w] & courseSet[w]);
+        }
+        return count;
+    }
+
+    /**
+     * Agrupa los cursos de las materias deseadas, conservando el orden del catálogo
+     * @return mapa de materia a sus grupos; las materias sin grupos no aparecen
+     */
+    public Map<String, List<Course>> groupBySubject(List<String> desiredSubjects) {
+        Map<String, List<Course>> result = new HashMap<>();
+        for (String subject : desiredSubjects) {
+            List<Course> groups = coursesBySubject.get(subject);
+            if (groups != null) {
+                result.put(subject, Collections.unmodifiableList(groups));
+            }
+        }
+        return result;
+    }
+}
@@ -1,18 +1,28 @@
 package com.scheduler.logic;
 
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.scheduler.model.Course;
+import com.scheduler.model.TimeSlot;
 
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
-import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 public class DataLoader {
 
+    private static final String DEFAULT_CATALOG = "courses.json";
+    private static final String CATALOG_OPTION = "--catalog";
+
     /**
      * Carga la lista de cursos desde un archivo JSON
      * @param filename nombre del archivo JSON en resources
@@ -20,14 +30,159 @@ public class DataLoader {
      */
     public List<Course> loadCourses(String filename) {
         try (Reader reader = new InputStreamReader(
-                Objects.requireNonNull(getClass().getClassLoader().getResourceAsStream(filename)))) {
-            Gson gson = new Gson();
-            Type courseListType = new TypeToken<ArrayList<Course>>(){}.getType();
-            return gson.fromJson(reader, courseListType);
+                Objects.requireNonNull(getClass().getClassLoader().getResourceAsStream(filename)),
+                StandardCharsets.UTF_8)) {
+            return readCourses(reader);
         } catch (Exception e) {
             System.err.println("Error al cargar el archivo JSON: " + e.getMessage());
             e.printStackTrace();
             return new ArrayList<>();
         }
     }
+
+    /**
+     * Carga la lista de cursos desde un archivo en disco: JSON o instantánea
+     * binaria ({@link CatalogSnapshot}), según su firma
+     * @param path ruta del archivo
+     * @return lista de cursos disponibles (vacía si el archivo no existe o es inválido)
+     */
+    public List<Course> loadCoursesFromFile(Path path) {
+        if (CatalogSnapshot.isSnapshot(path)) {
+            try {
+                return CatalogSnapshot.load(path);
+            } catch (Exception e) {
+                System.err.println("Error al cargar la instantánea " + path + ": " + e.getMessage());
+                return new ArrayList<>();
+            }
+        }
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return readCourses(reader);
+        } catch (Exception e) {
+            System.err.println("Error al cargar el archivo JSON " + path + ": " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Carga el catálogo indicado con --catalog en los argumentos, o courses.json si no se indicó
+     */
+    public List<Course> loadCatalog(List<String> args) {
+        String catalog = findCatalogPath(args);
+        return catalog == null ? loadCourses(DEFAULT_CATALOG) : loadCoursesFromFile(Paths.get(catalog));
+    }
+
+    /**
+     * @return la ruta que sigue a --catalog en los argumentos, o null si no está
+     */
+    public static String findCatalogPath(List<String> args) {
+        int position = args.indexOf(CATALOG_OPTION);
+        if (position >= 0 && position + 1 < args.size()) {
+            return args.get(position + 1);
+        }
+        return null;
+    }
+
+    /**
+     * Lee el arreglo de cursos en modo streaming, sin reflexión
+     *
+     * Los nombres de día, materia y grupo se comparten mediante una tabla de
+     * cadenas: todos los bloques del "Lunes" apuntan a la misma instancia.
+     * Cada bloque se valida al leerlo (día reconocido y 0 <= inicio < fin <= 1440).
+     */
+    private List<Course> readCourses(Reader input) throws IOException {
+        Map<String, String> strings = new HashMap<>();
+        List<Course> courses = new ArrayList<>();
+
+        try (JsonReader reader = new JsonReader(input)) {
+            reader.beginArray();
+            while (reader.hasNext()) {
+                courses.add(readCourse(reader, strings));
+            }
+            reader.endArray();
+        }
+        return courses;
+    }
+
+    private Course readCourse(JsonReader reader, Map<String, String> strings) throws IOException {
+        String id = null;
+        String subject = null;
+        String group = null;
+        int year = 0;
+        List<TimeSlot> schedules = new ArrayList<>(0);
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "id":
+                    id = nextString(reader);
+                    break;
+                case "subject":
+                    subject = intern(strings, nextString(reader));
+                    break;
+                case "group":
+                    group = intern(strings, nextString(reader));
+                    break;
+                case "year":
+                    year = reader.nextInt();
+                    break;
+                case "schedules":
+                    schedules = readSchedules(reader, strings);
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return new Course(id, subject, group, year, schedules);
+    }
+
+    private List<TimeSlot> readSchedules(JsonReader reader, Map<String, String> strings) throws IOException {
+        List<TimeSlot> schedules = new ArrayList<>(4);
+        reader.beginArray();
+        while (reader.hasNext()) {
+            String day = null;
+            int start = -1;
+            int end = -1;
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "day":
+                        day = intern(strings, nextString(reader));
+                        break;
+                    case "start":
+                        start = reader.nextInt();
+                        break;
+                    case "end":
+                        end = reader.nextInt();
+                        break;
+                    default:
+                        reader.skipValue();
+                }
+            }
+            // El día se normaliza aquí; el resto del programa compara días por índice
+            try {
+                schedules.add(new TimeSlot(day, start, end));
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Bloque horario inválido en " + reader.getPath() + ": " + e.getMessage());
+            }
+            reader.endObject();
+        }
+        reader.endArray();
+        return schedules;
+    }
+
+    private static String nextString(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        return reader.nextString();
+    }
+
+    private static String intern(Map<String, String> strings, String value) {
+        if (value == null) return null;
+        String shared = strings.putIfAbsent(value, value);
+        return shared != null ? shared : value;
+    }
 }
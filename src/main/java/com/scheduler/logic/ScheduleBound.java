@@ -0,0 +1,106 @@
+package com.scheduler.logic;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.scheduler.model.Course;
+import com.scheduler.model.TimeSlot;
+
+/**
+ * Cota inferior del puntaje final de un horario parcial (ramificación y poda)
+ *
+ * Para una prioridad dada, calcula un valor que ningún horario completo que
+ * extienda al parcial puede mejorar:
+ * - FEWER_DAYS: días ya usados + el mínimo de días nuevos que exige la materia
+ *   restante más restrictiva
+ * - LESS_GAPS: por cada día, el tiempo libre dentro del rango ya ocupado menos
+ *   los minutos que las materias restantes podrían aportar a ese día
+ *
+ * Trabaja sobre el {@link ScheduleState} del horario parcial, con su misma
+ * numeración de días.
+ */
+class ScheduleBound {
+
+    private final PriorityType priority;
+    private final List<List<Course>> options;
+    private final ScheduleState state;
+    private final Map<Course, Long> dayMasks = new IdentityHashMap<>();
+    private final int[][] remainingMinutes; // [nivel][día] = minutos que aún pueden aportar las materias restantes
+
+    ScheduleBound(List<List<Course>> options, PriorityType priority, ScheduleState state) {
+        this.priority = priority;
+        this.options = options;
+        this.state = state;
+
+        int dayCount = state.getDayCount();
+        for (List<Course> groups : options) {
+            for (Course course : groups) {
+                long mask = 0;
+                for (int day : state.getSlotDays(course)) {
+                    mask |= 1L << day;
+                }
+                dayMasks.put(course, mask);
+            }
+        }
+
+        // Minutos máximos por día que aporta cada materia, acumulados desde el final
+        this.remainingMinutes = new int[options.size() + 1][dayCount];
+        for (int level = options.size() - 1; level >= 0; level--) {
+            int[] best = new int[dayCount];
+            for (Course course : options.get(level)) {
+                int[] minutes = new int[dayCount];
+                int[] days = state.getSlotDays(course);
+                for (int i = 0; i < days.length; i++) {
+                    TimeSlot slot = course.getSchedules().get(i);
+                    minutes[days[i]] += Math.max(0, slot.getEnd() - slot.getStart());
+                }
+                for (int d = 0; d < dayCount; d++) {
+                    best[d] = Math.max(best[d], minutes[d]);
+                }
+            }
+            for (int d = 0; d < dayCount; d++) {
+                remainingMinutes[level][d] = remainingMinutes[level + 1][d] + best[d];
+            }
+        }
+    }
+
+    /**
+     * @param level cantidad de materias ya asignadas en el estado
+     * @return cota inferior del puntaje de cualquier horario completo que extienda al actual
+     */
+    int lowerBound(int level) {
+        switch (priority) {
+            case FEWER_DAYS:
+                return lowerBoundDays(level);
+            case LESS_GAPS:
+                return lowerBoundGaps(level);
+            default:
+                return 0;
+        }
+    }
+
+    private int lowerBoundDays(int level) {
+        long used = state.getUsedDayMask();
+
+        // La materia restante que obliga a abrir más días nuevos
+        int extra = 0;
+        for (int i = level; i < options.size(); i++) {
+            int minNew = Integer.MAX_VALUE;
+            for (Course course : options.get(i)) {
+                minNew = Math.min(minNew, Long.bitCount(dayMasks.get(course) & ~used));
+            }
+            extra = Math.max(extra, minNew);
+        }
+        return state.getUniqueDays() + extra;
+    }
+
+    private int lowerBoundGaps(int level) {
+        int bound = 0;
+        for (int d = 0; d < state.getDayCount(); d++) {
+            int free = state.getFreeMinutesInSpan(d);
+            bound += Math.max(0, free - remainingMinutes[level][d]);
+        }
+        return bound;
+    }
+}
@@ -0,0 +1,207 @@
+package com.scheduler.logic;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+
+import com.scheduler.model.Course;
+
+/**
+ * Caché de resultados de los planificadores, con desalojo LRU
+ *
+ * La clave es el conjunto ordenado de materias (o de ids de grupos, como en la
+ * interfaz), la prioridad y la variante que generó el resultado (algoritmo y,
+ * si corresponde, límite). Al ser un conjunto, quien consulte la caché debe
+ * buscar con las materias en el mismo orden canónico ({@link Key#getItems()})
+ * para que dos pedidos del mismo conjunto den exactamente el mismo resultado.
+ *
+ * El tamaño se limita por cantidad de entradas y por celdas guardadas (horarios
+ * por materias); los resultados más grandes que el límite no se guardan. Los
+ * resultados se comparten entre quienes consultan, por lo que no deben
+ * modificarse. Si el catálogo se recarga hay que llamar a {@link #invalidate()}.
+ *
+ * Es seguro usarla desde varios hilos. Dos consultas simultáneas de la misma
+ * clave ausente pueden calcular el resultado dos veces.
+ */
+public class ScheduleCache {
+
+    private static final long DEFAULT_MAX_CELLS = 1L << 24; // ~64 MB como índices int
+
+    private final int maxEntries;
+    private final long maxCells;
+    private final LinkedHashMap<Key, List<List<Course>>> entries;
+    private long cells;
+    private long hits;
+    private long misses;
+
+    /**
+     * @param maxEntries cantidad máxima de resultados guardados
+     */
+    public ScheduleCache(int maxEntries) {
+        this(maxEntries, DEFAULT_MAX_CELLS);
+    }
+
+    /**
+     * @param maxEntries cantidad máxima de resultados guardados
+     * @param maxCells suma máxima de horarios × materias entre todos los resultados
+     */
+    public ScheduleCache(int maxEntries, long maxCells) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.maxCells = maxCells;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true); // orden de acceso: el primero es el menos usado
+    }
+
+    /**
+     * @return el resultado guardado, o null si no está
+     */
+    public synchronized List<List<Course>> get(Key key) {
+        List<List<Course>> schedules = entries.get(key);
+        if (schedules != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return schedules;
+    }
+
+    /**
+     * Guarda un resultado, desalojando los menos usados recientemente si hace falta
+     */
+    public synchronized void put(Key key, List<List<Course>> schedules) {
+        long weight = weight(schedules);
+        if (weight > maxCells) {
+            return;
+        }
+        List<List<Course>> previous = entries.put(key, schedules);
+        if (previous != null) {
+            cells -= weight(previous);
+        }
+        cells += weight;
+
+        Iterator<Map.Entry<Key, List<List<Course>>>> eldest = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || cells > maxCells) && eldest.hasNext()) {
+            Map.Entry<Key, List<List<Course>>> entry = eldest.next();
+            if (entry.getKey().equals(key)) continue;
+            cells -= weight(entry.getValue());
+            eldest.remove();
+        }
+    }
+
+    /**
+     * Devuelve el resultado guardado o lo calcula (fuera del bloqueo) y lo guarda
+     */
+    public List<List<Course>> getOrCompute(Key key, Supplier<List<List<Course>>> compute) {
+        List<List<Course>> schedules = get(key);
+        if (schedules == null) {
+            schedules = compute.get();
+            put(key, schedules);
+        }
+        return schedules;
+    }
+
+    /**
+     * Descarta todos los resultados (por ejemplo, al recargar el catálogo)
+     */
+    public synchronized void invalidate() {
+        entries.clear();
+        cells = 0;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    // Celdas que ocupa un resultado: horarios × materias (al menos 1 por horario)
+    private static long weight(List<List<Course>> schedules) {
+        if (schedules.isEmpty()) {
+            return 1;
+        }
+        int width = schedules instanceof ScheduleSet
+                ? ((ScheduleSet) schedules).getWidth()
+                : schedules.get(0).size();
+        return (long) schedules.size() * Math.max(1, width);
+    }
+
+    @Override
+    public synchronized String toString() {
+        long total = hits + misses;
+        return String.format("Caché: %d entradas, %d aciertos, %d fallos (%.1f%% aciertos)",
+            entries.size(), hits, misses, total == 0 ? 0.0 : 100.0 * hits / total);
+    }
+
+    /**
+     * Clave de la caché: conjunto ordenado de materias o grupos, prioridad y variante
+     */
+    public static final class Key {
+        private final List<String> items;
+        private final PriorityType priority;
+        private final String variant;
+        private final int hash;
+
+        private Key(List<String> items, PriorityType priority, String variant) {
+            this.items = items;
+            this.priority = priority;
+            this.variant = variant;
+            this.hash = 31 * (31 * items.hashCode() + priority.hashCode()) + variant.hashCode();
+        }
+
+        /**
+         * @param subjects materias pedidas, en cualquier orden (se ignoran las repetidas)
+         * @param variant algoritmo y demás parámetros que cambian el resultado
+         */
+        public static Key forSubjects(Collection<String> subjects, PriorityType priority, String variant) {
+            return new Key(sortedDistinct(subjects), priority, variant);
+        }
+
+        /**
+         * @param groups grupos seleccionados, en cualquier orden; se identifican por su id
+         * @param variant algoritmo y demás parámetros que cambian el resultado
+         */
+        public static Key forGroups(Collection<Course> groups, PriorityType priority, String variant) {
+            List<String> ids = new ArrayList<>(groups.size());
+            for (Course group : groups) {
+                ids.add(group.getId());
+            }
+            return new Key(sortedDistinct(ids), priority, variant);
+        }
+
+        private static List<String> sortedDistinct(Collection<String> values) {
+            List<String> sorted = new ArrayList<>(new TreeSet<>(values));
+            return Collections.unmodifiableList(sorted);
+        }
+
+        /**
+         * Materias (o ids de grupos) en orden canónico
+         */
+        public List<String> getItems() {
+            return items;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Key)) return false;
+            Key key = (Key) other;
+            return hash == key.hash && priority == key.priority
+                    && variant.equals(key.variant) && items.equals(key.items);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.scheduler.logic;
 
 import com.scheduler.model.Course;
 import com.scheduler.model.TimeSlot;
+import com.scheduler.model.Weekday;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -10,44 +11,48 @@ import java.util.stream.Collectors;
 public class ScheduleEvaluator {
 
     public static int calculateUniqueDays(List<Course> schedule) {
-        Set<String> uniqueDays = new HashSet<>();
+        int dayMask = 0; // un bit por día de la semana
         for (Course course : schedule) {
             for (TimeSlot slot : course.getSchedules()) {
-                uniqueDays.add(slot.getDay());
+                dayMask |= 1 << slot.getDayIndex();
             }
         }
-        return uniqueDays.size();
+        return Integer.bitCount(dayMask);
     }
 
     public static int calculateTotalGaps(List<Course> schedule) {
-        // Agrupar bloques horarios por día
-        Map<String, List<TimeSlot>> slotsByDay = new HashMap<>();
-        
+        int count = 0;
+        for (Course course : schedule) {
+            count += course.getSchedules().size();
+        }
+
+        // Inicio en minutos de la semana en los 32 bits altos y posición en los bajos:
+        // ordenar las claves agrupa los bloques por día y por hora de inicio (estable)
+        long[] keys = new long[count];
+        int[] ends = new int[count];
+        int n = 0;
         for (Course course : schedule) {
             for (TimeSlot slot : course.getSchedules()) {
-                slotsByDay.computeIfAbsent(slot.getDay(), k -> new ArrayList<>()).add(slot);
+                keys[n] = ((long) slot.getWeekStart() << 32) | n;
+                ends[n] = slot.getWeekEnd();
+                n++;
             }
         }
+        Arrays.sort(keys);
 
         int totalGaps = 0;
 
-        // Para cada día, calcular gaps entre bloques
-        for (List<TimeSlot> slots : slotsByDay.values()) {
-            if (slots.size() < 2) continue;
-
-            // Ordenar por hora de inicio
-            slots.sort(Comparator.comparingInt(TimeSlot::getStart));
-
-            // Calcular gaps entre bloques consecutivos
-            for (int i = 0; i < slots.size() - 1; i++) {
-                TimeSlot current = slots.get(i);
-                TimeSlot next = slots.get(i + 1);
-                
-                // Gap = inicio del siguiente - fin del actual
-                int gap = next.getStart() - current.getEnd();
-                if (gap > 0) {
-                    totalGaps += gap;
-                }
+        // Calcular gaps entre bloques consecutivos del mismo día
+        for (int i = 0; i < count - 1; i++) {
+            int currentStart = (int) (keys[i] >>> 32);
+            int nextStart = (int) (keys[i + 1] >>> 32);
+            if (currentStart / Weekday.MINUTES_PER_DAY != nextStart / Weekday.MINUTES_PER_DAY) {
+                continue;
+            }
+            // Gap = inicio del siguiente - fin del actual
+            int gap = nextStart - ends[(int) keys[i]];
+            if (gap > 0) {
+                totalGaps += gap;
             }
         }
 
@@ -77,6 +82,38 @@ public class ScheduleEvaluator {
         return sortedSchedules;
     }
 
+    /**
+     * Ordena un conjunto compacto de horarios por el puntaje ya guardado en cada fila
+     * El orden es estable: a igual puntaje se conserva el orden original
+     */
+    public static ScheduleSet sortSchedules(ScheduleSet schedules) {
+        // Puntaje en los 32 bits altos y posición en los bajos: ordenar las claves es estable
+        long[] keys = new long[schedules.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = ((long) schedules.getScore(i) << 32) | i;
+        }
+        Arrays.sort(keys);
+
+        int[] order = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            order[i] = (int) keys[i];
+        }
+        return schedules.reorder(order);
+    }
+
+    /**
+     * Calcula el puntaje de cada fila según la prioridad y ordena el conjunto
+     */
+    public static ScheduleSet sortSchedules(ScheduleSet schedules, PriorityType priority) {
+        for (int i = 0; i < schedules.size(); i++) {
+            List<Course> schedule = schedules.get(i);
+            schedules.setScore(i, priority == PriorityType.LESS_GAPS
+                    ? calculateTotalGaps(schedule)
+                    : calculateUniqueDays(schedule));
+        }
+        return sortSchedules(schedules);
+    }
+
     
     
     private static String formatMinutes(int minutes) {
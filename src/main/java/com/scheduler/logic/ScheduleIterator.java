@@ -0,0 +1,116 @@
+package com.scheduler.logic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import com.scheduler.model.Course;
+import com.scheduler.model.OccupancyMask;
+
+/**
+ * Enumeración perezosa de horarios válidos
+ *
+ * Recorre el mismo árbol que {@link Scheduler#generateSchedules} pero con una
+ * pila explícita: cada llamada a {@link #next()} avanza la búsqueda solo hasta
+ * el siguiente horario completo. La memoria usada depende del número de
+ * materias, no de la cantidad de soluciones.
+ */
+class ScheduleIterator implements Iterator<List<Course>> {
+
+    private final ConflictGraph conflictGraph;
+    private final List<List<Course>> options; // grupos por materia, en el orden pedido
+    private final boolean exactMasks;
+
+    private final Course[] chosen;     // grupo elegido en cada nivel
+    private final int[] cursor;        // siguiente opción a probar en cada nivel
+    private final long[][] occupancy;  // occupancy[i] = OR de los cursos elegidos antes del nivel i
+    private int depth;
+
+    private List<Course> nextSchedule;
+
+    ScheduleIterator(ConflictGraph conflictGraph, List<List<Course>> options) {
+        this.conflictGraph = conflictGraph;
+        this.options = options;
+        this.exactMasks = options.stream()
+                .flatMap(List::stream)
+                .allMatch(c -> c.getOccupancy().isExact());
+
+        int levels = options.size();
+        this.chosen = new Course[levels];
+        this.cursor = new int[levels + 1];
+        this.occupancy = new long[levels + 1][OccupancyMask.WORDS];
+        this.depth = 0;
+        this.nextSchedule = advance();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return nextSchedule != null;
+    }
+
+    @Override
+    public List<Course> next() {
+        if (nextSchedule == null) {
+            throw new NoSuchElementException();
+        }
+        List<Course> result = nextSchedule;
+        nextSchedule = advance();
+        return result;
+    }
+
+    /**
+     * Continúa el backtracking hasta encontrar el siguiente horario completo
+     * @return el horario encontrado, o null si el árbol se agotó
+     */
+    private List<Course> advance() {
+        while (depth >= 0) {
+            // Caso base: un grupo por cada materia
+            if (depth == options.size()) {
+                List<Course> schedule = new ArrayList<>(Arrays.asList(chosen));
+                depth--;
+                return schedule;
+            }
+
+            List<Course> levelOptions = options.get(depth);
+            boolean descended = false;
+
+            while (cursor[depth] < levelOptions.size()) {
+                Course option = levelOptions.get(cursor[depth]++);
+                if (!hasConflict(option)) {
+                    // ELEGIR y bajar al siguiente nivel
+                    chosen[depth] = option;
+                    long[] next = occupancy[depth + 1];
+                    System.arraycopy(occupancy[depth], 0, next, 0, next.length);
+                    option.getOccupancy().orInto(next);
+                    depth++;
+                    cursor[depth] = 0;
+                    descended = true;
+                    break;
+                }
+            }
+
+            // DESHACER: sin más opciones en este nivel
+            if (!descended) {
+                depth--;
+            }
+        }
+        return null;
+    }
+
+    private boolean hasConflict(Course newCourse) {
+        if (!newCourse.getOccupancy().intersects(occupancy[depth])) {
+            return false;
+        }
+        if (exactMasks) {
+            return true;
+        }
+        for (int i = 0; i < depth; i++) {
+            if (conflictGraph.conflicts(chosen[i], newCourse)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,148 @@
+package com.scheduler.logic;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.scheduler.model.Course;
+
+/**
+ * Conjunto compacto de horarios
+ *
+ * Cada horario se guarda como una fila de índices de cursos (del {@link ConflictGraph})
+ * dentro de un único arreglo int[], junto con su puntaje. No se crea ningún objeto
+ * por horario: {@link #get(int)} devuelve una vista liviana que resuelve los
+ * {@link Course} recién al accederlos.
+ */
+public class ScheduleSet extends AbstractList<List<Course>> {
+
+    private final ConflictGraph conflictGraph;
+    private final int width; // cursos por horario
+    private int[] arena;
+    private int[] scores;
+    private int size;
+
+    /**
+     * @param conflictGraph grafo cuyos índices identifican a los cursos
+     * @param width cantidad de cursos de cada horario (una por materia)
+     */
+    public ScheduleSet(ConflictGraph conflictGraph, int width) {
+        this.conflictGraph = conflictGraph;
+        this.width = width;
+        this.arena = new int[Math.max(1, width) * 16];
+        this.scores = new int[16];
+    }
+
+    /**
+     * Agrega un horario copiando los primeros {@code width} índices
+     * @param courseIndices índices de los cursos en el grafo
+     * @param score puntaje del horario (menor es mejor)
+     */
+    public void add(int[] courseIndices, int score) {
+        ensureCapacity(size + 1);
+        System.arraycopy(courseIndices, 0, arena, size * width, width);
+        scores[size] = score;
+        size++;
+    }
+
+    /**
+     * Agrega todos los horarios de otro conjunto, en su orden
+     */
+    public void addAll(ScheduleSet other) {
+        ensureCapacity(size + other.size);
+        System.arraycopy(other.arena, 0, arena, size * width, other.size * width);
+        System.arraycopy(other.scores, 0, scores, size, other.size);
+        size += other.size;
+    }
+
+    private void ensureCapacity(int rows) {
+        if (rows > scores.length) {
+            int capacity = Math.max(rows, scores.length * 2);
+            scores = Arrays.copyOf(scores, capacity);
+            arena = Arrays.copyOf(arena, Math.max(1, width) * capacity);
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getScore(int row) {
+        checkRow(row);
+        return scores[row];
+    }
+
+    public void setScore(int row, int score) {
+        checkRow(row);
+        scores[row] = score;
+    }
+
+    public int getCourseIndex(int row, int column) {
+        checkRow(row);
+        return arena[row * width + column];
+    }
+
+    public Course getCourse(int row, int column) {
+        return conflictGraph.getCourse(getCourseIndex(row, column));
+    }
+
+    public ConflictGraph getConflictGraph() {
+        return conflictGraph;
+    }
+
+    /**
+     * Vista del horario de la fila indicada (no copia los cursos)
+     */
+    @Override
+    public List<Course> get(int row) {
+        checkRow(row);
+        return new Row(row);
+    }
+
+    /**
+     * Devuelve una copia con las filas en el orden indicado
+     * @param order posiciones de las filas originales, en el nuevo orden
+     */
+    ScheduleSet reorder(int[] order) {
+        ScheduleSet result = new ScheduleSet(conflictGraph, width);
+        result.ensureCapacity(order.length);
+        for (int i = 0; i < order.length; i++) {
+            System.arraycopy(arena, order[i] * width, result.arena, i * width, width);
+            result.scores[i] = scores[order[i]];
+        }
+        result.size = order.length;
+        return result;
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Fila " + row + " fuera de rango (tamaño " + size + ")");
+        }
+    }
+
+    private class Row extends AbstractList<Course> {
+        private final int offset;
+
+        Row(int row) {
+            this.offset = row * width;
+        }
+
+        @Override
+        public Course get(int column) {
+            if (column < 0 || column >= width) {
+                throw new IndexOutOfBoundsException("Columna " + column + " fuera de rango (ancho " + width + ")");
+            }
+            return conflictGraph.getCourse(arena[offset + column]);
+        }
+
+        @Override
+        public int size() {
+            return width;
+        }
+    }
+}
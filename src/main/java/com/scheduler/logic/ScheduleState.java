@@ -0,0 +1,222 @@
+package com.scheduler.logic;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.scheduler.model.Course;
+import com.scheduler.model.OccupancyMask;
+import com.scheduler.model.TimeSlot;
+import com.scheduler.model.Weekday;
+
+/**
+ * Puntajes de un horario en construcción, mantenidos de forma incremental
+ *
+ * El backtracking agrega y quita cursos en orden de pila ({@link #push} y
+ * {@link #pop}); en cada paso se actualizan los días usados y, por cada día,
+ * los bloques ordenados por hora de inicio junto con la suma de espacios.
+ * Al completar un horario sus puntajes FEWER_DAYS y LESS_GAPS ya están
+ * disponibles en O(1), con los mismos valores que {@link ScheduleEvaluator}.
+ *
+ * Los días se identifican por su índice de {@link Weekday}, igual que en
+ * ScheduleEvaluator, y se numeran de forma compacta en el orden en que aparecen.
+ * No es seguro compartir una instancia entre hilos.
+ */
+public class ScheduleState {
+
+    private final Map<Course, int[]> slotDays = new IdentityHashMap<>();
+    private final int dayCount;
+
+    // Bloques de cada día ordenados por inicio (estable: los empates quedan en orden de llegada)
+    private final int[][] starts;
+    private final int[][] ends;
+    private final int[] sizes;
+
+    private final Course[] courseStack;
+    private final int[] positionStack; // posición donde se insertó cada bloque
+    private int courseDepth;
+    private int positionDepth;
+
+    private int usedDays;
+    private long usedDayMask; // un bit por día en la numeración compacta
+    private int totalGaps;
+
+    /**
+     * @param options grupos disponibles por materia, uno de los cuales se elegirá en cada nivel
+     */
+    public ScheduleState(List<List<Course>> options) {
+        int[] dayIds = new int[OccupancyMask.DAYS_PER_WEEK];
+        Arrays.fill(dayIds, -1);
+        int dayCount = 0;
+        int capacity = 0;
+        for (List<Course> groups : options) {
+            int slotsInLevel = 0;
+            for (Course course : groups) {
+                List<TimeSlot> slots = course.getSchedules();
+                int[] days = new int[slots.size()];
+                for (int i = 0; i < slots.size(); i++) {
+                    int dayIndex = slots.get(i).getDayIndex();
+                    if (dayIds[dayIndex] < 0) {
+                        dayIds[dayIndex] = dayCount++;
+                    }
+                    days[i] = dayIds[dayIndex];
+                }
+                slotDays.put(course, days);
+                slotsInLevel = Math.max(slotsInLevel, days.length);
+            }
+            capacity += slotsInLevel;
+        }
+
+        this.dayCount = dayCount;
+        this.starts = new int[dayCount][capacity];
+        this.ends = new int[dayCount][capacity];
+        this.sizes = new int[dayCount];
+        this.courseStack = new Course[options.size()];
+        this.positionStack = new int[capacity];
+    }
+
+    /**
+     * Agrega un curso al horario en construcción
+     */
+    public void push(Course course) {
+        int[] days = slotDays.get(course);
+        List<TimeSlot> slots = course.getSchedules();
+
+        for (int i = 0; i < days.length; i++) {
+            int day = days[i];
+            TimeSlot slot = slots.get(i);
+            positionStack[positionDepth++] = insert(day, slot.getStart(), slot.getEnd());
+        }
+        courseStack[courseDepth++] = course;
+    }
+
+    /**
+     * Quita el último curso agregado
+     */
+    public void pop() {
+        Course course = courseStack[--courseDepth];
+        courseStack[courseDepth] = null;
+        int[] days = slotDays.get(course);
+
+        // Orden inverso para que cada posición registrada siga siendo válida
+        for (int i = days.length - 1; i >= 0; i--) {
+            remove(days[i], positionStack[--positionDepth]);
+        }
+    }
+
+    private int insert(int day, int start, int end) {
+        int[] dayStarts = starts[day];
+        int[] dayEnds = ends[day];
+        int size = sizes[day];
+
+        // Después de los bloques con igual inicio, como el ordenamiento estable
+        int pos = size;
+        while (pos > 0 && dayStarts[pos - 1] > start) {
+            pos--;
+        }
+
+        if (pos > 0 && pos < size) totalGaps -= gap(dayEnds[pos - 1], dayStarts[pos]);
+        if (pos > 0) totalGaps += gap(dayEnds[pos - 1], start);
+        if (pos < size) totalGaps += gap(end, dayStarts[pos]);
+
+        System.arraycopy(dayStarts, pos, dayStarts, pos + 1, size - pos);
+        System.arraycopy(dayEnds, pos, dayEnds, pos + 1, size - pos);
+        dayStarts[pos] = start;
+        dayEnds[pos] = end;
+        sizes[day] = size + 1;
+
+        if (size == 0) {
+            usedDays++;
+            usedDayMask |= 1L << day;
+        }
+        return pos;
+    }
+
+    private void remove(int day, int pos) {
+        int[] dayStarts = starts[day];
+        int[] dayEnds = ends[day];
+        int size = sizes[day];
+
+        if (pos > 0) totalGaps -= gap(dayEnds[pos - 1], dayStarts[pos]);
+        if (pos < size - 1) totalGaps -= gap(dayEnds[pos], dayStarts[pos + 1]);
+        if (pos > 0 && pos < size - 1) totalGaps += gap(dayEnds[pos - 1], dayStarts[pos + 1]);
+
+        System.arraycopy(dayStarts, pos + 1, dayStarts, pos, size - pos - 1);
+        System.arraycopy(dayEnds, pos + 1, dayEnds, pos, size - pos - 1);
+        sizes[day] = size - 1;
+
+        if (size == 1) {
+            usedDays--;
+            usedDayMask &= ~(1L << day);
+        }
+    }
+
+    private static int gap(int end, int nextStart) {
+        return Math.max(0, nextStart - end);
+    }
+
+    /**
+     * Cantidad de días distintos con clases (equivale a ScheduleEvaluator.calculateUniqueDays)
+     */
+    public int getUniqueDays() {
+        return usedDays;
+    }
+
+    /**
+     * Minutos libres entre bloques consecutivos (equivale a ScheduleEvaluator.calculateTotalGaps)
+     */
+    public int getTotalGaps() {
+        return totalGaps;
+    }
+
+    /**
+     * Puntaje del horario actual según la prioridad (menor es mejor)
+     */
+    public int score(PriorityType priority) {
+        return priority == PriorityType.LESS_GAPS ? totalGaps : usedDays;
+    }
+
+    int getDayCount() {
+        return dayCount;
+    }
+
+    int[] getSlotDays(Course course) {
+        return slotDays.get(course);
+    }
+
+    long getUsedDayMask() {
+        return usedDayMask;
+    }
+
+    /**
+     * Minutos sin clase dentro del rango ocupado de un día
+     * (desde el primer inicio hasta el último fin)
+     */
+    int getFreeMinutesInSpan(int day) {
+        int size = sizes[day];
+        if (size == 0) return 0;
+
+        int[] dayStarts = starts[day];
+        int[] dayEnds = ends[day];
+        int spanEnd = Integer.MIN_VALUE;
+        int covered = 0;
+        int runStart = 0;
+        int runEnd = Integer.MIN_VALUE;
+
+        for (int i = 0; i < size; i++) {
+            spanEnd = Math.max(spanEnd, dayEnds[i]);
+
+            if (dayStarts[i] > runEnd) {
+                if (runEnd > Integer.MIN_VALUE) covered += runEnd - runStart;
+                runStart = dayStarts[i];
+                runEnd = dayEnds[i];
+            } else {
+                runEnd = Math.max(runEnd, dayEnds[i]);
+            }
+        }
+        if (runEnd > Integer.MIN_VALUE) covered += runEnd - runStart;
+
+        return Math.max(0, spanEnd - dayStarts[0] - covered);
+    }
+}
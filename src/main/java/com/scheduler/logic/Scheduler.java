@@ -1,19 +1,37 @@
 package com.scheduler.logic;
 
 import com.scheduler.model.Course;
+import com.scheduler.model.OccupancyMask;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 
 public class Scheduler {
 
-    private List<Course> allCourses;
+    private static final int MAX_COUNT_MEMO_ENTRIES = 2_000_000;
+    private static final int ESTIMATE_PROBES = 2_000;
+
+    private final ConflictGraph conflictGraph;
 
     public Scheduler(List<Course> allCourses) {
-        this.allCourses = allCourses;
+        this(new ConflictGraph(allCourses));
+    }
+
+    public Scheduler(ConflictGraph conflictGraph) {
+        this.conflictGraph = conflictGraph;
     }
 
     /**
@@ -21,7 +39,7 @@ public class Scheduler {
      * @param desiredSubjects lista de materias que el usuario quiere llevar
      * @return lista de todas las combinaciones de horarios sin conflictos
      */
-    public List<List<Course>> generateSchedules(List<String> desiredSubjects) {
+    public ScheduleSet generateSchedules(List<String> desiredSubjects) {
         return generateSchedules(desiredSubjects, PriorityType.FEWER_DAYS);
     }
 
@@ -29,61 +47,440 @@ public class Scheduler {
      * Genera todos los horarios válidos para las materias deseadas, ordenados por prioridad
      * @param desiredSubjects lista de materias que el usuario quiere llevar
      * @param priority tipo de priorización a aplicar
-     * @return lista de todas las combinaciones de horarios sin conflictos, ordenadas
+     * @return conjunto compacto con todas las combinaciones de horarios sin conflictos, ordenadas
      */
-    public List<List<Course>> generateSchedules(List<String> desiredSubjects, PriorityType priority) {
-        List<List<Course>> validSchedules = new ArrayList<>();
-        
-        // Agrupar cursos por materia para acceso rápido
-        Map<String, List<Course>> coursesBySubject = allCourses.stream()
-                .filter(c -> desiredSubjects.contains(c.getSubject()))
-                .collect(Collectors.groupingBy(Course::getSubject));
+    public ScheduleSet generateSchedules(List<String> desiredSubjects, PriorityType priority) {
+        return generateSchedules(desiredSubjects, priority, new SearchMonitor());
+    }
 
-        // Verificar que todas las materias deseadas existan
-        for (String subject : desiredSubjects) {
-            if (!coursesBySubject.containsKey(subject) || coursesBySubject.get(subject).isEmpty()) {
-                System.out.println("⚠ No se encontraron cursos para la materia: " + subject);
-                return validSchedules;
-            }
+    /**
+     * Igual que {@link #generateSchedules(List, PriorityType)}, informando el avance
+     * @param monitor recibe los nodos explorados de esta búsqueda y permite cancelarla
+     */
+    public ScheduleSet generateSchedules(List<String> desiredSubjects, PriorityType priority, SearchMonitor monitor) {
+        ScheduleSet validSchedules = new ScheduleSet(conflictGraph, desiredSubjects.size());
+
+        // Pre-chequeo: materias inexistentes o incompatibles entre sí, y grupos imposibles
+        List<List<Course>> options = reduceDomains(desiredSubjects);
+        if (options == null) {
+            return validSchedules;
         }
 
+        // Máscara de ocupación acumulada por nivel: occupancy[i] = OR de los cursos elegidos antes del nivel i
+        long[][] occupancy = new long[desiredSubjects.size() + 1][OccupancyMask.WORDS];
+        boolean exactMasks = options.stream()
+                .flatMap(List::stream)
+                .allMatch(c -> c.getOccupancy().isExact());
+
+        // Puntajes mantenidos de forma incremental mientras se arma cada horario
+        ScheduleState state = new ScheduleState(options);
+
         // Iniciar el algoritmo de backtracking
-        backtrack(desiredSubjects, 0, new ArrayList<>(), validSchedules, coursesBySubject);
+        backtrack(options, 0, new ArrayList<>(), new int[desiredSubjects.size()], validSchedules,
+                  occupancy, exactMasks, state, priority, monitor);
         
         // Ordenar según la prioridad seleccionada
-        return ScheduleEvaluator.sortSchedules(validSchedules, priority);
+        return ScheduleEvaluator.sortSchedules(validSchedules);
+    }
+
+    /**
+     * Aplica {@link ArcConsistency} a las materias pedidas
+     * @return grupos posibles por materia en el orden pedido, o null si no existe ningún horario
+     */
+    private List<List<Course>> reduceDomains(List<String> desiredSubjects) {
+        ArcConsistency.Result consistency = checkFeasibility(desiredSubjects);
+        return consistency.isFeasible() ? consistency.getDomains() : null;
+    }
+
+    /**
+     * Verifica si las materias pedidas admiten algún horario, sin buscarlos
+     * Los métodos de búsqueda devuelven un resultado vacío cuando no lo admiten;
+     * quien los llama puede usar este diagnóstico para informar el motivo
+     * @param desiredSubjects lista de materias que el usuario quiere llevar
+     * @return resultado de AC-3: si no es factible, el menor conjunto de materias
+     *         que no pueden cursarse juntas (una sola si no tiene grupos)
+     */
+    public ArcConsistency.Result checkFeasibility(List<String> desiredSubjects) {
+        return new ArcConsistency(conflictGraph).reduce(desiredSubjects);
+    }
+
+    /**
+     * Genera solo los mejores horarios según la prioridad (modo top-K)
+     * Mantiene un heap acotado con los K mejores encontrados y poda toda rama cuya
+     * cota inferior no puede superar al K-ésimo. El resultado es idéntico a los
+     * primeros K elementos de {@link #generateSchedules(List, PriorityType)}.
+     * @param desiredSubjects lista de materias que el usuario quiere llevar
+     * @param priority tipo de priorización a aplicar
+     * @param limit cantidad máxima de horarios a devolver
+     * @return los mejores horarios sin conflictos, ordenados
+     */
+    public List<List<Course>> generateTopSchedules(List<String> desiredSubjects, PriorityType priority, int limit) {
+        return generateTopSchedules(desiredSubjects, priority, limit, new SearchMonitor());
+    }
+
+    /**
+     * @param monitor recibe los nodos explorados de esta búsqueda y permite cancelarla
+     */
+    public List<List<Course>> generateTopSchedules(List<String> desiredSubjects, PriorityType priority, int limit,
+                                                   SearchMonitor monitor) {
+        List<List<Course>> topSchedules = new ArrayList<>();
+        if (limit <= 0) {
+            return topSchedules;
+        }
+
+        List<List<Course>> options = reduceDomains(desiredSubjects);
+        if (options == null) {
+            return topSchedules;
+        }
+
+        long[][] occupancy = new long[options.size() + 1][OccupancyMask.WORDS];
+        boolean exactMasks = options.stream()
+                .flatMap(List::stream)
+                .allMatch(c -> c.getOccupancy().isExact());
+
+        TopKSearch search = new TopKSearch(options, priority, limit, occupancy, exactMasks, monitor);
+        search.explore(0, new ArrayList<>());
+
+        List<RankedSchedule> ranked = new ArrayList<>(search.best);
+        ranked.sort(RankedSchedule.ORDER);
+        for (RankedSchedule entry : ranked) {
+            topSchedules.add(entry.schedule);
+        }
+        return topSchedules;
+    }
+
+    /**
+     * Enumera los horarios válidos de forma perezosa, sin ordenar
+     * Cada horario se genera recién cuando se solicita, en el mismo orden
+     * en que los encuentra el backtracking
+     * @param desiredSubjects lista de materias que el usuario quiere llevar
+     * @return iterador sobre las combinaciones de horarios sin conflictos (vacío si falta alguna materia)
+     */
+    public Iterator<List<Course>> iterateSchedules(List<String> desiredSubjects) {
+        Map<String, List<Course>> coursesBySubject = conflictGraph.groupBySubject(desiredSubjects);
+
+        List<List<Course>> options = new ArrayList<>();
+        for (String subject : desiredSubjects) {
+            List<Course> groups = coursesBySubject.get(subject);
+            if (groups == null || groups.isEmpty()) {
+                return Collections.emptyIterator(); // el diagnóstico lo da checkFeasibility
+            }
+            options.add(groups);
+        }
+
+        return new ScheduleIterator(conflictGraph, options);
+    }
+
+    /**
+     * Enumera los horarios válidos como un Stream perezoso, sin ordenar
+     * Permite tomar los primeros N resultados o detenerse antes de agotar la búsqueda
+     * @param desiredSubjects lista de materias que el usuario quiere llevar
+     * @return stream secuencial de combinaciones de horarios sin conflictos
+     */
+    public Stream<List<Course>> streamSchedules(List<String> desiredSubjects) {
+        Spliterator<List<Course>> spliterator = Spliterators.spliteratorUnknownSize(
+                iterateSchedules(desiredSubjects), Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    /**
+     * Cuenta los horarios válidos sin construirlos
+     *
+     * Para completar un horario parcial desde el nivel i solo importa qué grupos
+     * de las materias restantes quedaron bloqueados (chocan con algún curso ya
+     * elegido). Ese conjunto es la clave de la memoización de cada nivel: los
+     * prefijos distintos que bloquean los mismos grupos se cuentan una sola vez.
+     * @param desiredSubjects lista de materias que el usuario quiere llevar
+     * @return cantidad de combinaciones de horarios sin conflictos
+     */
+    public long countSchedules(List<String> desiredSubjects) {
+        List<List<Course>> options = reduceDomains(desiredSubjects);
+        if (options == null) {
+            return 0;
+        }
+        if (options.isEmpty()) {
+            return 1; // el horario vacío, igual que generateSchedules
+        }
+        return new SolutionCounter(countingOrder(options)).count(0);
+    }
+
+    /**
+     * Estima los nodos que explora {@link #generateSchedules(List, PriorityType)}
+     * con el estimador de Knuth: cada sondeo baja por el árbol eligiendo al azar
+     * un grupo compatible por nivel, y el producto de las ramas válidas de los
+     * niveles recorridos estima cuántos nodos hay en cada profundidad. El promedio
+     * de los sondeos es insesgado y cuesta muy poco frente a la búsqueda, por lo
+     * que sirve como total esperado de un {@link SearchMonitor}.
+     * @param desiredSubjects lista de materias que el usuario quiere llevar
+     * @return nodos estimados del árbol de búsqueda (0 si no existe ningún horario)
+     */
+    public long estimateSearchNodes(List<String> desiredSubjects) {
+        List<List<Course>> options = reduceDomains(desiredSubjects);
+        if (options == null) {
+            return 0;
+        }
+
+        Random random = new Random(desiredSubjects.hashCode());
+        long[][] occupancy = new long[options.size() + 1][OccupancyMask.WORDS];
+        boolean exactMasks = options.stream()
+                .flatMap(List::stream)
+                .allMatch(c -> c.getOccupancy().isExact());
+        List<Course> probe = new ArrayList<>();
+        List<Course> valid = new ArrayList<>();
+
+        double total = 0;
+        for (int p = 0; p < ESTIMATE_PROBES; p++) {
+            probe.clear();
+            double width = 1; // nodos estimados en la profundidad actual
+            double nodes = 1;
+            for (int index = 0; index < options.size(); index++) {
+                valid.clear();
+                for (Course option : options.get(index)) {
+                    if (!hasConflict(probe, occupancy[index], exactMasks, option)) {
+                        valid.add(option);
+                    }
+                }
+                if (valid.isEmpty()) {
+                    break;
+                }
+                width *= valid.size();
+                nodes += width;
+
+                Course chosen = valid.get(random.nextInt(valid.size()));
+                probe.add(chosen);
+                System.arraycopy(occupancy[index], 0, occupancy[index + 1], 0, OccupancyMask.WORDS);
+                chosen.getOccupancy().orInto(occupancy[index + 1]);
+            }
+            total += nodes;
+        }
+        return Math.round(total / ESTIMATE_PROBES);
+    }
+
+    /**
+     * Orden de materias para el conteo (el total no depende del orden)
+     *
+     * Se toma primero la materia con más choques y luego, en cada paso, la que más
+     * choca con las ya elegidas: así cada materia cierra pronto sus dependencias y
+     * el conjunto de grupos bloqueados que se memoiza tiene menos variantes.
+     */
+    private List<List<Course>> countingOrder(List<List<Course>> options) {
+        int n = options.size();
+        int[][] edges = new int[n][n]; // pares de grupos en conflicto entre dos materias
+        int[] degree = new int[n];
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                for (Course a : options.get(i)) {
+                    for (Course b : options.get(j)) {
+                        if (conflictGraph.conflicts(a, b)) edges[i][j]++;
+                    }
+                }
+                edges[j][i] = edges[i][j];
+                degree[i] += edges[i][j];
+                degree[j] += edges[i][j];
+            }
+        }
+
+        List<List<Course>> ordered = new ArrayList<>(n);
+        boolean[] placed = new boolean[n];
+        int[] linked = new int[n]; // choques con las materias ya ubicadas
+        for (int step = 0; step < n; step++) {
+            int next = -1;
+            for (int i = 0; i < n; i++) {
+                if (placed[i]) continue;
+                if (next < 0 || linked[i] > linked[next]
+                        || (linked[i] == linked[next] && degree[i] > degree[next])) {
+                    next = i;
+                }
+            }
+            placed[next] = true;
+            ordered.add(options.get(next));
+            for (int i = 0; i < n; i++) {
+                linked[i] += edges[next][i];
+            }
+        }
+        return ordered;
+    }
+
+    /**
+     * Conteo con memoización sobre los grupos bloqueados de los niveles restantes
+     * (los grupos se numeran localmente, nivel por nivel)
+     */
+    private class SolutionCounter {
+        final int levels;
+        final int[] levelStart;       // primer número local de cada nivel (levelStart[levels] = total)
+        final long[][] conflictBits;  // [grupo] = grupos de niveles posteriores que chocan con él
+        final long[][] blocked;       // [nivel] = grupos bloqueados por los elegidos antes del nivel
+        final long[][] levelBits;     // [nivel] = grupos del nivel
+        final List<Map<BlockedKey, Long>> memo = new ArrayList<>();
+        int memoEntries;
+
+        SolutionCounter(List<List<Course>> options) {
+            this.levels = options.size();
+            this.levelStart = new int[levels + 1];
+            List<Integer> indices = new ArrayList<>();
+            for (int i = 0; i < levels; i++) {
+                levelStart[i] = indices.size();
+                for (Course course : options.get(i)) {
+                    indices.add(conflictGraph.indexOf(course));
+                }
+                memo.add(new HashMap<>());
+            }
+            int total = indices.size();
+            levelStart[levels] = total;
+            int words = (total + 63) >>> 6;
+
+            this.conflictBits = new long[total][words];
+            for (int i = 0; i < levels; i++) {
+                for (int c = levelStart[i]; c < levelStart[i + 1]; c++) {
+                    for (int d = levelStart[i + 1]; d < total; d++) {
+                        if (conflictGraph.conflicts(indices.get(c), indices.get(d))) {
+                            conflictBits[c][d >>> 6] |= 1L << d;
+                        }
+                    }
+                }
+            }
+            this.blocked = new long[levels + 1][words];
+            this.levelBits = new long[levels][words];
+            for (int i = 0; i < levels; i++) {
+                for (int c = levelStart[i]; c < levelStart[i + 1]; c++) {
+                    levelBits[i][c >>> 6] |= 1L << c;
+                }
+            }
+        }
+
+        /**
+         * true si alguna materia desde el nivel dado tiene todos sus grupos bloqueados
+         */
+        boolean deadEnd(int level, long[] current) {
+            for (int i = level; i < levels; i++) {
+                long[] bits = levelBits[i];
+                boolean allBlocked = true;
+                for (int w = levelStart[i] >>> 6; w <= (levelStart[i + 1] - 1) >>> 6; w++) {
+                    if ((bits[w] & ~current[w]) != 0) {
+                        allBlocked = false;
+                        break;
+                    }
+                }
+                if (allBlocked) return true;
+            }
+            return false;
+        }
+
+        long count(int level) {
+            long[] current = blocked[level];
+
+            // Último nivel: basta contar los grupos no bloqueados
+            if (level == levels - 1) {
+                long count = 0;
+                for (int c = levelStart[level]; c < levelStart[level + 1]; c++) {
+                    if ((current[c >>> 6] & (1L << c)) == 0) count++;
+                }
+                return count;
+            }
+
+            // Forward checking: alguna materia restante ya no tiene grupos posibles
+            if (deadEnd(level + 1, current)) {
+                return 0;
+            }
+
+            BlockedKey key = new BlockedKey(current, levelStart[level]);
+            Long cached = memo.get(level).get(key);
+            if (cached != null) {
+                return cached;
+            }
+
+            long count = 0;
+            long[] next = blocked[level + 1];
+            for (int c = levelStart[level]; c < levelStart[level + 1]; c++) {
+                if ((current[c >>> 6] & (1L << c)) == 0) {
+                    long[] conflicts = conflictBits[c];
+                    for (int w = 0; w < next.length; w++) {
+                        next[w] = current[w] | conflicts[w];
+                    }
+                    count += count(level + 1);
+                }
+            }
+            // Con el límite alcanzado se sigue contando, pero sin guardar más estados
+            if (memoEntries < MAX_COUNT_MEMO_ENTRIES) {
+                memo.get(level).put(key, count);
+                memoEntries++;
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Grupos bloqueados desde un número local en adelante, usable como clave de un HashMap
+     */
+    private static class BlockedKey {
+        private final long[] words;
+        private final int hash;
+
+        BlockedKey(long[] blocked, int from) {
+            int firstWord = from >>> 6;
+            this.words = Arrays.copyOfRange(blocked, firstWord, blocked.length);
+            words[0] &= -1L << (from & 63); // descartar los grupos de niveles anteriores
+            this.hash = Arrays.hashCode(words);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof BlockedKey && Arrays.equals(words, ((BlockedKey) other).words);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
     }
 
     /**
      * Algoritmo de Backtracking recursivo
      * 
-     * @param desiredSubjects lista de materias deseadas
+     * @param options grupos disponibles de cada materia, en el orden pedido
      * @param index índice actual en la lista de materias
      * @param currentSchedule horario en construcción
-     * @param validSchedules acumulador de horarios válidos
-     * @param coursesBySubject mapa de materias a sus grupos disponibles
+     * @param currentIndices índices en el grafo de los cursos del horario en construcción
+     * @param validSchedules acumulador de horarios válidos, con su puntaje
+     * @param occupancy máscaras de ocupación acumuladas por nivel
+     * @param exactMasks true si todas las máscaras son exactas (intersección = conflicto)
+     * @param state puntajes del horario en construcción
+     * @param priority prioridad con la que se puntúa cada horario completo
+     * @param monitor seguimiento de esta búsqueda
      */
-    private void backtrack(List<String> desiredSubjects, int index, List<Course> currentSchedule, 
-                           List<List<Course>> validSchedules, Map<String, List<Course>> coursesBySubject) {
+    private void backtrack(List<List<Course>> options, int index, List<Course> currentSchedule, 
+                           int[] currentIndices, ScheduleSet validSchedules,
+                           long[][] occupancy, boolean exactMasks,
+                           ScheduleState state, PriorityType priority, SearchMonitor monitor) {
+        monitor.visit();
+
         // Caso base: Si hemos seleccionado un grupo para cada materia
-        if (index == desiredSubjects.size()) {
-            validSchedules.add(new ArrayList<>(currentSchedule));
+        if (index == options.size()) {
+            validSchedules.add(currentIndices, state.score(priority));
+            if (monitor.wantsPreview()) {
+                monitor.preview(new ArrayList<>(currentSchedule));
+            }
             return;
         }
 
-        String currentSubject = desiredSubjects.get(index);
-        List<Course> options = coursesBySubject.get(currentSubject);
-
         // Probar cada grupo disponible para la materia actual
-        for (Course option : options) {
-            if (!hasConflict(currentSchedule, option)) {
+        long[] occupied = occupancy[index];
+        for (Course option : options.get(index)) {
+            if (!hasConflict(currentSchedule, occupied, exactMasks, option)) {
                 // ELEGIR: agregar este grupo al horario
                 currentSchedule.add(option);
+                currentIndices[index] = conflictGraph.indexOf(option);
+                state.push(option);
+                long[] next = occupancy[index + 1];
+                System.arraycopy(occupied, 0, next, 0, next.length);
+                option.getOccupancy().orInto(next);
                 
                 // EXPLORAR: continuar con la siguiente materia
-                backtrack(desiredSubjects, index + 1, currentSchedule, validSchedules, coursesBySubject);
+                backtrack(options, index + 1, currentSchedule, currentIndices, validSchedules,
+                          occupancy, exactMasks, state, priority, monitor);
                 
                 // DESHACER (Backtrack): quitar el grupo para probar otras opciones
+                state.pop();
                 currentSchedule.remove(currentSchedule.size() - 1);
             }
         }
@@ -91,13 +488,105 @@ public class Scheduler {
 
     /**
      * Verifica si un nuevo curso tiene conflicto con los cursos ya seleccionados
+     * usando la máscara acumulada; solo recorre el horario si las máscaras son aproximadas
      */
-    private boolean hasConflict(List<Course> currentSchedule, Course newCourse) {
+    private boolean hasConflict(List<Course> currentSchedule, long[] occupied, boolean exactMasks,
+                                Course newCourse) {
+        if (!newCourse.getOccupancy().intersects(occupied)) {
+            return false;
+        }
+        if (exactMasks) {
+            return true;
+        }
         for (Course existing : currentSchedule) {
-            if (existing.overlaps(newCourse)) {
+            if (conflictGraph.conflicts(existing, newCourse)) {
                 return true;
             }
         }
         return false;
     }
+
+    /**
+     * Horario completo con su puntaje y su posición en el orden de búsqueda
+     * (la posición desempata igual que el ordenamiento estable de ScheduleEvaluator)
+     */
+    private static class RankedSchedule {
+        static final Comparator<RankedSchedule> ORDER =
+                Comparator.<RankedSchedule>comparingInt(r -> r.score).thenComparingLong(r -> r.sequence);
+
+        final List<Course> schedule;
+        final int score;
+        final long sequence;
+
+        RankedSchedule(List<Course> schedule, int score, long sequence) {
+            this.schedule = schedule;
+            this.score = score;
+            this.sequence = sequence;
+        }
+    }
+
+    /**
+     * Estado de una búsqueda top-K con ramificación y poda
+     */
+    private class TopKSearch {
+        final List<List<Course>> options;
+        final PriorityType priority;
+        final int limit;
+        final long[][] occupancy;
+        final boolean exactMasks;
+        final ScheduleState state;
+        final ScheduleBound bound;
+        // Heap de máximos: en la cima está el peor de los K mejores
+        final PriorityQueue<RankedSchedule> best;
+        final SearchMonitor monitor;
+        long sequence;
+
+        TopKSearch(List<List<Course>> options, PriorityType priority, int limit,
+                   long[][] occupancy, boolean exactMasks, SearchMonitor monitor) {
+            this.options = options;
+            this.priority = priority;
+            this.limit = limit;
+            this.occupancy = occupancy;
+            this.exactMasks = exactMasks;
+            this.state = new ScheduleState(options);
+            this.bound = new ScheduleBound(options, priority, state);
+            this.best = new PriorityQueue<>(RankedSchedule.ORDER.reversed());
+            this.monitor = monitor;
+        }
+
+        void explore(int index, List<Course> currentSchedule) {
+            monitor.visit();
+
+            // PODA: los horarios futuros llegan después en el orden de búsqueda,
+            // así que solo entran al heap si tienen puntaje estrictamente menor
+            if (best.size() == limit && bound.lowerBound(index) >= best.peek().score) {
+                return;
+            }
+
+            if (index == options.size()) {
+                List<Course> schedule = new ArrayList<>(currentSchedule);
+                best.add(new RankedSchedule(schedule, state.score(priority), sequence++));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+                return;
+            }
+
+            long[] occupied = occupancy[index];
+            for (Course option : options.get(index)) {
+                if (!hasConflict(currentSchedule, occupied, exactMasks, option)) {
+                    currentSchedule.add(option);
+                    state.push(option);
+                    long[] next = occupancy[index + 1];
+                    System.arraycopy(occupied, 0, next, 0, next.length);
+                    option.getOccupancy().orInto(next);
+
+                    explore(index + 1, currentSchedule);
+
+                    state.pop();
+                    currentSchedule.remove(currentSchedule.size() - 1);
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,114 @@
+package com.scheduler.logic;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import com.scheduler.model.Course;
+
+/**
+ * Seguimiento de una búsqueda en curso, compartido entre el hilo que busca y la interfaz
+ *
+ * Los algoritmos llaman a {@link #visit()} en cada nodo que exploran: así se
+ * cuentan los nodos (para la barra de progreso) y se detecta la cancelación,
+ * que interrumpe la búsqueda con una {@link CancellationException}. Opcionalmente
+ * reciben los primeros horarios completos a medida que aparecen, antes de ordenar.
+ *
+ * Es seguro usarlo desde varios hilos (por ejemplo, las tareas Fork/Join).
+ */
+public class SearchMonitor {
+
+    private final LongAdder nodes = new LongAdder();
+    private final AtomicInteger previewed = new AtomicInteger();
+    private volatile boolean cancelled;
+    private volatile long expectedNodes;
+    private volatile long nodeLimit;
+    private volatile int previewLimit;
+    private volatile Consumer<List<Course>> previewListener;
+
+    /**
+     * Registra un nodo explorado
+     * @throws CancellationException si la búsqueda fue cancelada o superó el límite de nodos
+     */
+    public void visit() {
+        if (cancelled) {
+            throw new CancellationException("Búsqueda cancelada");
+        }
+        nodes.increment();
+        long limit = nodeLimit;
+        if (limit > 0 && nodes.sum() > limit) {
+            cancelled = true;
+            throw new CancellationException("La búsqueda superó el límite de " + limit + " nodos");
+        }
+    }
+
+    /**
+     * @param nodeLimit nodos tras los cuales la búsqueda se abandona como si se
+     *        hubiera cancelado (0 = sin límite)
+     */
+    public void setNodeLimit(long nodeLimit) {
+        this.nodeLimit = nodeLimit;
+    }
+
+    /**
+     * Pide que la búsqueda se detenga en el próximo nodo que visite
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public long getNodes() {
+        return nodes.sum();
+    }
+
+    /**
+     * @param expectedNodes nodos que se espera explorar (0 si no se conoce)
+     */
+    public void setExpectedNodes(long expectedNodes) {
+        this.expectedNodes = expectedNodes;
+    }
+
+    /**
+     * Fracción explorada según los nodos esperados, o -1 si no hay estimación
+     */
+    public double getProgress() {
+        long expected = expectedNodes;
+        if (expected <= 0) {
+            return -1;
+        }
+        return Math.min(1.0, (double) getNodes() / expected);
+    }
+
+    /**
+     * Recibe los primeros horarios completos en el orden en que se encuentran
+     * @param limit cantidad máxima de horarios a entregar
+     * @param listener se invoca desde el hilo de la búsqueda
+     */
+    public void setPreviewListener(int limit, Consumer<List<Course>> listener) {
+        this.previewLimit = limit;
+        this.previewListener = listener;
+    }
+
+    /**
+     * Indica si todavía se esperan horarios de vista previa (para no armarlos en vano)
+     */
+    public boolean wantsPreview() {
+        return previewListener != null && previewed.get() < previewLimit;
+    }
+
+    /**
+     * Entrega un horario completo a la vista previa, si no se alcanzó el límite
+     */
+    public void preview(List<Course> schedule) {
+        Consumer<List<Course>> listener = previewListener;
+        if (listener != null && previewed.getAndIncrement() < previewLimit) {
+            listener.accept(schedule);
+        }
+    }
+}
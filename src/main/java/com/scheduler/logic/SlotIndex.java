@@ -0,0 +1,151 @@
+package com.scheduler.logic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+import com.scheduler.model.Course;
+import com.scheduler.model.TimeSlot;
+import com.scheduler.model.Weekday;
+
+/**
+ * Índice de todos los bloques horarios del catálogo para consultas por intervalo
+ *
+ * Los bloques se guardan como intervalos de minutos de la semana
+ * ({@link TimeSlot#getWeekStart()}), ordenados por inicio en arreglos
+ * paralelos. Sobre ese orden se arma un árbol de intervalos implícito: el
+ * nodo de un rango [lo, hi) es su posición media y guarda el mayor fin del
+ * rango. Una consulta descarta los subárboles cuyo mayor fin no alcanza la
+ * ventana y, por el orden, todo lo que empieza después de ella, así que cuesta
+ * O(log n + k) para k bloques encontrados.
+ *
+ * Como ningún bloque se sale de su día, un mismo árbol sobre la semana
+ * equivale a un árbol por día. Los cursos se identifican por su posición en la
+ * lista con la que se construyó el índice (la misma que en {@link ConflictGraph}).
+ */
+public class SlotIndex {
+
+    private final List<Course> courses;
+    private final int[] starts;  // inicio de cada bloque, en orden creciente
+    private final int[] ends;
+    private final int[] owners;  // posición del curso de cada bloque
+    private final int[] maxEnds; // mayor fin del subárbol con raíz en cada posición
+    private final int words;
+
+    public SlotIndex(List<Course> courses) {
+        this.courses = courses;
+        this.words = (courses.size() + 63) / 64;
+
+        int count = 0;
+        for (Course course : courses) {
+            count += course.getSchedules().size();
+        }
+
+        // Inicio en los 32 bits altos y número de bloque en los bajos: ordenar las claves ordena los bloques
+        long[] keys = new long[count];
+        int[] slotEnds = new int[count];
+        int[] slotOwners = new int[count];
+        int n = 0;
+        for (int i = 0; i < courses.size(); i++) {
+            for (TimeSlot slot : courses.get(i).getSchedules()) {
+                keys[n] = ((long) slot.getWeekStart() << 32) | n;
+                slotEnds[n] = slot.getWeekEnd();
+                slotOwners[n] = i;
+                n++;
+            }
+        }
+        Arrays.sort(keys);
+
+        this.starts = new int[count];
+        this.ends = new int[count];
+        this.owners = new int[count];
+        for (int i = 0; i < count; i++) {
+            int slot = (int) keys[i];
+            starts[i] = (int) (keys[i] >>> 32);
+            ends[i] = slotEnds[slot];
+            owners[i] = slotOwners[slot];
+        }
+        this.maxEnds = new int[count];
+        buildMaxEnds(0, count);
+    }
+
+    private int buildMaxEnds(int lo, int hi) {
+        if (lo >= hi) {
+            return Integer.MIN_VALUE;
+        }
+        int mid = (lo + hi) >>> 1;
+        int max = Math.max(ends[mid], Math.max(buildMaxEnds(lo, mid), buildMaxEnds(mid + 1, hi)));
+        maxEnds[mid] = max;
+        return max;
+    }
+
+    /**
+     * Cantidad de bloques indexados
+     */
+    public int size() {
+        return starts.length;
+    }
+
+    /**
+     * Recorre los bloques que se cruzan con la ventana (inicio < finVentana y
+     * fin > inicioVentana), en orden de inicio
+     * @param weekStart inicio de la ventana en minutos de la semana
+     * @param weekEnd fin de la ventana en minutos de la semana
+     * @param action recibe la posición del curso de cada bloque (un curso puede repetirse)
+     */
+    public void forEachOverlap(int weekStart, int weekEnd, IntConsumer action) {
+        forEachOverlap(0, starts.length, weekStart, weekEnd, action);
+    }
+
+    private void forEachOverlap(int lo, int hi, int weekStart, int weekEnd, IntConsumer action) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (maxEnds[mid] <= weekStart) {
+                return; // ningún bloque del rango termina después del inicio
+            }
+            forEachOverlap(lo, mid, weekStart, weekEnd, action);
+            if (starts[mid] >= weekEnd) {
+                return; // este bloque y los siguientes empiezan después de la ventana
+            }
+            if (ends[mid] > weekStart) {
+                action.accept(owners[mid]);
+            }
+            lo = mid + 1;
+        }
+    }
+
+    /**
+     * Cursos con algún bloque que se cruza con la ventana
+     * @return conjunto de posiciones de cursos (mismo formato que {@link ConflictGraph#newCourseSet()})
+     */
+    public long[] coursesOverlapping(int weekStart, int weekEnd) {
+        long[] set = new long[words];
+        forEachOverlap(weekStart, weekEnd, owner -> set[owner >>> 6] |= 1L << owner);
+        return set;
+    }
+
+    /**
+     * Cursos que tienen clase en un minuto dado (consulta de punto)
+     */
+    public long[] coursesAt(Weekday day, int minute) {
+        int weekMinute = day.weekMinute(minute);
+        return coursesOverlapping(weekMinute, weekMinute + 1);
+    }
+
+    /**
+     * Cursos sin ningún bloque dentro de la ventana de un día, en el orden del catálogo
+     * @param start inicio de la ventana en minutos desde medianoche
+     * @param end fin de la ventana en minutos desde medianoche
+     */
+    public List<Course> coursesFreeDuring(Weekday day, int start, int end) {
+        long[] busy = coursesOverlapping(day.weekMinute(start), day.weekMinute(end));
+        List<Course> free = new ArrayList<>();
+        for (int i = 0; i < courses.size(); i++) {
+            if ((busy[i >>> 6] & (1L << i)) == 0) {
+                free.add(courses.get(i));
+            }
+        }
+        return free;
+    }
+}
@@ -2,19 +2,28 @@ package com.scheduler.model;
 
 import java.util.List;
 
-public class Course {
-    private String id;
-    private String subject;
-    private String group;
-    private int year;
-    private List<TimeSlot> schedules;
+/**
+ * Grupo de una materia con sus bloques horarios
+ *
+ * Es inmutable (la lista de bloques es una copia no modificable y la máscara
+ * de ocupación se calcula al construirlo), así que el catálogo puede
+ * compartirse entre hilos sin sincronización.
+ */
+public final class Course {
+    private final String id;
+    private final String subject;
+    private final String group;
+    private final int year;
+    private final List<TimeSlot> schedules;
+    private final transient OccupancyMask occupancy; // no se serializa
 
     public Course(String id, String subject, String group, int year, List<TimeSlot> schedules) {
         this.id = id;
         this.subject = subject;
         this.group = group;
         this.year = year;
-        this.schedules = schedules;
+        this.schedules = List.copyOf(schedules);
+        this.occupancy = OccupancyMask.of(this.schedules);
     }
 
     public String getId() {
@@ -37,11 +46,35 @@ public class Course {
         return schedules;
     }
 
+    /**
+     * Máscara de ocupación semanal del curso, precalculada una sola vez
+     */
+    public OccupancyMask getOccupancy() {
+        return occupancy;
+    }
+
     /**
      * Verifica si este curso tiene conflicto de horario con otro curso
      * Retorna true si alguno de los bloques horarios se solapan
      */
     public boolean overlaps(Course other) {
+        OccupancyMask mask = getOccupancy();
+        OccupancyMask otherMask = other.getOccupancy();
+
+        // Sin bloques compartidos no puede haber solapamiento
+        if (!mask.intersects(otherMask)) {
+            return false;
+        }
+        if (mask.isExact() && otherMask.isExact()) {
+            return true;
+        }
+        return overlapsSlots(other);
+    }
+
+    /**
+     * Comparación bloque a bloque, usada cuando las máscaras son aproximadas
+     */
+    private boolean overlapsSlots(Course other) {
         for (TimeSlot ts1 : this.schedules) {
             for (TimeSlot ts2 : other.schedules) {
                 if (ts1.overlaps(ts2)) {
@@ -0,0 +1,123 @@
+package com.scheduler.model;
+
+import java.util.List;
+
+/**
+ * Máscara de ocupación semanal de un curso
+ *
+ * Cada bit representa un bloque de 5 minutos de un día de la semana
+ * (bit = día * BUCKETS_PER_DAY + minuto / 5). Dos cursos solo pueden
+ * solaparse si sus máscaras comparten algún bit, por lo que la mayoría
+ * de verificaciones de conflicto se resuelven con unas pocas operaciones AND.
+ *
+ * Si algún bloque horario no está alineado a 5 minutos la máscara es solo
+ * una aproximación conservadora: nunca omite un solapamiento real, pero
+ * {@link #isExact()} devuelve false y la intersección debe confirmarse
+ * comparando los bloques.
+ */
+public final class OccupancyMask {
+
+    public static final int MINUTES_PER_BUCKET = 5;
+    public static final int BUCKETS_PER_DAY = 24 * 60 / MINUTES_PER_BUCKET;
+    public static final int DAYS_PER_WEEK = 7;
+    public static final int WORDS = (DAYS_PER_WEEK * BUCKETS_PER_DAY + 63) / 64;
+
+    private final long[] words;
+    private final int firstWord; // primera palabra no nula
+    private final int lastWord;  // última palabra no nula (firstWord > lastWord si está vacía)
+    private final boolean exact;
+
+    private OccupancyMask(long[] words, boolean exact) {
+        int first = 0;
+        while (first < WORDS && words[first] == 0) first++;
+        int last = WORDS - 1;
+        while (last >= first && words[last] == 0) last--;
+
+        this.words = words;
+        this.firstWord = first;
+        this.lastWord = last;
+        this.exact = exact;
+    }
+
+    /**
+     * Construye la máscara a partir de los bloques horarios de un curso
+     */
+    public static OccupancyMask of(List<TimeSlot> slots) {
+        long[] words = new long[WORDS];
+        boolean exact = true;
+
+        for (TimeSlot slot : slots) {
+            int day = slot.getDayIndex();
+            int start = slot.getStart();
+            int end = slot.getEnd();
+
+            // TimeSlot garantiza un día válido y 0 <= inicio < fin <= 1440
+            if (start % MINUTES_PER_BUCKET != 0 || end % MINUTES_PER_BUCKET != 0) {
+                exact = false;
+            }
+
+            // Los bloques parciales se marcan completos (aproximación conservadora)
+            int fromBit = day * BUCKETS_PER_DAY + start / MINUTES_PER_BUCKET;
+            int toBit = day * BUCKETS_PER_DAY + (end + MINUTES_PER_BUCKET - 1) / MINUTES_PER_BUCKET;
+            setRange(words, fromBit, toBit);
+        }
+
+        return new OccupancyMask(words, exact);
+    }
+
+    private static void setRange(long[] words, int fromBit, int toBit) {
+        for (int bit = fromBit; bit < toBit; bit++) {
+            words[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    /**
+     * Crea un acumulador vacío para combinar varias máscaras con {@link #orInto(long[])}
+     */
+    public static long[] newAccumulator() {
+        return new long[WORDS];
+    }
+
+    /**
+     * Verifica si esta máscara comparte algún bloque con otra
+     */
+    public boolean intersects(OccupancyMask other) {
+        int from = Math.max(firstWord, other.firstWord);
+        int to = Math.min(lastWord, other.lastWord);
+        for (int i = from; i <= to; i++) {
+            if ((words[i] & other.words[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Verifica si esta máscara comparte algún bloque con un acumulador
+     */
+    public boolean intersects(long[] occupied) {
+        for (int i = firstWord; i <= lastWord; i++) {
+            if ((words[i] & occupied[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Agrega los bloques de esta máscara al acumulador
+     */
+    public void orInto(long[] occupied) {
+        for (int i = firstWord; i <= lastWord; i++) {
+            occupied[i] |= words[i];
+        }
+    }
+
+    /**
+     * Indica si la máscara representa exactamente los bloques horarios,
+     * es decir, si la intersección de máscaras equivale a un solapamiento real
+     */
+    public boolean isExact() {
+        return exact;
+    }
+}
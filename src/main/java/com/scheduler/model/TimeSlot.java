@@ -1,20 +1,60 @@
 package com.scheduler.model;
 
-public class TimeSlot {
-    private String day;
-    private int start; // en minutos desde medianoche
-    private int end;   // en minutos desde medianoche
+/**
+ * Bloque horario de un día, inmutable
+ *
+ * El nombre del día se convierte a {@link Weekday} al construirlo y el bloque
+ * se guarda además como intervalo de minutos de la semana
+ * (día * 1440 + minuto), así que los solapamientos y los ordenamientos son
+ * comparaciones de enteros. El nombre original solo se usa para mostrarlo.
+ */
+public final class TimeSlot {
+    private final String day;
+    private final int start; // en minutos desde medianoche
+    private final int end;   // en minutos desde medianoche
+    private final transient Weekday weekday;
+    private final transient int weekStart; // en minutos desde el Lunes 0:00
+    private final transient int weekEnd;
 
+    /**
+     * @param day nombre del día, con o sin tildes
+     * @throws IllegalArgumentException si el día no es reconocido o el intervalo
+     *         no cumple 0 <= inicio < fin <= 1440
+     */
     public TimeSlot(String day, int start, int end) {
+        this(day, Weekday.parse(day), start, end);
+    }
+
+    public TimeSlot(Weekday weekday, int start, int end) {
+        this(weekday.getDisplayName(), weekday, start, end);
+    }
+
+    private TimeSlot(String day, Weekday weekday, int start, int end) {
+        if (weekday == null) {
+            throw new IllegalArgumentException("Día no reconocido: " + day);
+        }
+        if (start < 0 || end <= start || end > Weekday.MINUTES_PER_DAY) {
+            throw new IllegalArgumentException("Intervalo inválido (inicio " + start + ", fin " + end + ")");
+        }
         this.day = day;
         this.start = start;
         this.end = end;
+        this.weekday = weekday;
+        this.weekStart = weekday.weekMinute(start);
+        this.weekEnd = weekday.weekMinute(end);
     }
 
+    /**
+     * Nombre del día tal como aparece en el catálogo
+     */
     public String getDay() {
         return day;
     }
 
+    public Weekday getWeekday() {
+        return weekday;
+    }
+
     public int getStart() {
         return start;
     }
@@ -23,6 +63,37 @@ public class TimeSlot {
         return end;
     }
 
+    /**
+     * Índice del día de la semana (0 = Lunes ... 6 = Domingo)
+     */
+    public int getDayIndex() {
+        return weekday.ordinal();
+    }
+
+    /**
+     * Inicio del bloque en minutos desde el Lunes 0:00
+     */
+    public int getWeekStart() {
+        return weekStart;
+    }
+
+    /**
+     * Fin del bloque en minutos desde el Lunes 0:00
+     */
+    public int getWeekEnd() {
+        return weekEnd;
+    }
+
+    /**
+     * Convierte el nombre de un día a su índice (0 = Lunes ... 6 = Domingo)
+     * @param day nombre del día, con o sin tildes
+     * @return índice del día, o -1 si el nombre no es reconocido
+     */
+    public static int dayIndexOf(String day) {
+        Weekday weekday = Weekday.parse(day);
+        return weekday == null ? -1 : weekday.ordinal();
+    }
+
     /**
      * Convierte minutos a formato HH:MM
      * @param minutes minutos desde medianoche
@@ -36,17 +107,12 @@ public class TimeSlot {
 
     /**
      * Verifica si dos bloques horarios se solapan
-     * Dos bloques se solapan si:
-     * 1. Son el mismo día
-     * 2. Sus intervalos de tiempo se cruzan
+     * Como ningún bloque se sale de su día, dos intervalos de minutos de la
+     * semana solo se cruzan si son del mismo día y sus horas se cruzan
      */
     public boolean overlaps(TimeSlot other) {
-        if (!this.day.equalsIgnoreCase(other.day)) {
-            return false;
-        }
-        // Verifica si los intervalos se solapan
         // (StartA < EndB) AND (EndA > StartB)
-        return this.start < other.end && this.end > other.start;
+        return this.weekStart < other.weekEnd && this.weekEnd > other.weekStart;
     }
 
     @Override
@@ -0,0 +1,71 @@
+package com.scheduler.model;
+
+/**
+ * Días de la semana en el orden del horario (0 = Lunes ... 6 = Domingo)
+ *
+ * Los nombres del catálogo se convierten una sola vez, al crear cada
+ * {@link TimeSlot}; a partir de ahí los días se comparan por su ordinal y los
+ * bloques por minutos de la semana ({@link #weekMinute(int)}), sin cadenas.
+ */
+public enum Weekday {
+    LUNES("Lunes"),
+    MARTES("Martes"),
+    MIERCOLES("Miercoles"),
+    JUEVES("Jueves"),
+    VIERNES("Viernes"),
+    SABADO("Sabado"),
+    DOMINGO("Domingo");
+
+    public static final int MINUTES_PER_DAY = 24 * 60;
+
+    private static final Weekday[] VALUES = values();
+
+    private final String displayName;
+
+    Weekday(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * Nombre del día como aparece en courses.json
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Minutos desde el comienzo de la semana (Lunes 0:00) para una hora de este día
+     * @param minuteOfDay minutos desde medianoche
+     */
+    public int weekMinute(int minuteOfDay) {
+        return ordinal() * MINUTES_PER_DAY + minuteOfDay;
+    }
+
+    /**
+     * @param index índice del día (0 = Lunes ... 6 = Domingo)
+     */
+    public static Weekday of(int index) {
+        return VALUES[index];
+    }
+
+    /**
+     * Convierte el nombre de un día
+     * @param name nombre del día, con o sin tildes y sin importar mayúsculas
+     * @return el día, o null si el nombre no es reconocido
+     */
+    public static Weekday parse(String name) {
+        if (name == null) return null;
+        switch (name.toLowerCase().trim()) {
+            case "lunes": return LUNES;
+            case "martes": return MARTES;
+            case "miercoles":
+            case "miércoles": return MIERCOLES;
+            case "jueves": return JUEVES;
+            case "viernes": return VIERNES;
+            case "sabado":
+            case "sábado": return SABADO;
+            case "domingo": return DOMINGO;
+            default: return null;
+        }
+    }
+}
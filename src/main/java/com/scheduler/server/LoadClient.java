@@ -0,0 +1,118 @@
+package com.scheduler.server;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import com.google.gson.Gson;
+
+/**
+ * Cliente de carga para {@link ScheduleServer}: envía la misma solicitud
+ * muchas veces desde varios hilos e informa el rendimiento y los percentiles
+ * de latencia observados por el cliente
+ *
+ * Uso: LoadClient --subjects "Materia A;Materia B" [--url http://localhost:8080]
+ *      [--requests 1000] [--concurrency 16] [--algorithm BACKTRACKING]
+ *      [--priority FEWER_DAYS] [--limit 10]
+ */
+public class LoadClient {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            options.put(args[i], args[i + 1]);
+        }
+        if (args.length % 2 != 0 || !options.containsKey("--subjects")) {
+            System.err.println("Uso: LoadClient --subjects \"Materia A;Materia B\" [--url http://localhost:8080]"
+                    + " [--requests 1000] [--concurrency 16] [--algorithm BACKTRACKING]"
+                    + " [--priority FEWER_DAYS] [--limit 10]");
+            return;
+        }
+
+        int requests = Integer.parseInt(options.getOrDefault("--requests", "1000"));
+        int concurrency = Integer.parseInt(options.getOrDefault("--concurrency", "16"));
+
+        Map<String, Object> body = new HashMap<>();
+        body.put("subjects", Arrays.stream(options.get("--subjects").split(";"))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .collect(Collectors.toList()));
+        body.put("algorithm", options.getOrDefault("--algorithm", "BACKTRACKING"));
+        body.put("priority", options.getOrDefault("--priority", "FEWER_DAYS"));
+        body.put("limit", Integer.parseInt(options.getOrDefault("--limit", "10")));
+
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(options.getOrDefault("--url", "http://localhost:8080") + "/schedules"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(new Gson().toJson(body)))
+                .build();
+
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Future<Response>> futures = new ArrayList<>(requests);
+            long start = System.nanoTime();
+            for (int i = 0; i < requests; i++) {
+                futures.add(executor.submit(() -> {
+                    long sent = System.nanoTime();
+                    HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                    return new Response(response.statusCode(), System.nanoTime() - sent);
+                }));
+            }
+
+            // Solo las respuestas recibidas aportan latencia; las que fallan antes
+            // de recibirla (conexión rechazada, corte) cuentan como error
+            long[] latencies = new long[requests];
+            int answered = 0;
+            int errors = 0;
+            for (Future<Response> future : futures) {
+                try {
+                    Response response = future.get();
+                    latencies[answered++] = response.latencyNs();
+                    if (response.status() != 200) {
+                        errors++;
+                    }
+                } catch (ExecutionException e) {
+                    errors++;
+                }
+            }
+            double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+            latencies = Arrays.copyOf(latencies, answered);
+            Arrays.sort(latencies);
+            System.out.printf("%d solicitudes (%d con error) en %.2f s con %d clientes: %.1f solicitudes/s%n",
+                    requests, errors, elapsedSeconds, concurrency, requests / elapsedSeconds);
+            System.out.printf("Latencia (ms): p50 %.2f, p90 %.2f, p99 %.2f, máx %.2f%n",
+                    percentileMs(latencies, 50), percentileMs(latencies, 90),
+                    percentileMs(latencies, 99), percentileMs(latencies, 100));
+        } finally {
+            // Los hilos del pool no son daemon: sin esto la JVM no termina
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Resultado de una solicitud: código HTTP y latencia vista por el cliente
+     */
+    private record Response(int status, long latencyNs) {
+    }
+
+    // Percentil por rango más cercano sobre las latencias ordenadas
+    private static double percentileMs(long[] sortedNs, double percentile) {
+        if (sortedNs.length == 0) {
+            return 0.0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sortedNs.length);
+        return sortedNs[Math.max(0, rank - 1)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,385 @@
+package com.scheduler.server;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.scheduler.algorithm.AlgorithmType;
+import com.scheduler.algorithm.DivideConquerScheduler;
+import com.scheduler.algorithm.DynamicProgrammingScheduler;
+import com.scheduler.algorithm.ForwardCheckingScheduler;
+import com.scheduler.algorithm.GreedyScheduler;
+import com.scheduler.algorithm.ParallelScheduler;
+import com.scheduler.logic.ConflictGraph;
+import com.scheduler.logic.PriorityType;
+import com.scheduler.logic.ScheduleCache;
+import com.scheduler.logic.Scheduler;
+import com.scheduler.logic.SearchMonitor;
+import com.scheduler.model.Course;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Servicio HTTP de generación de horarios sobre un catálogo cargado una sola vez
+ *
+ * Rutas:
+ * - GET /subjects: materias del catálogo con su cantidad de grupos
+ * - POST /schedules: recibe {"subjects": [...], "priority": "FEWER_DAYS",
+ *   "algorithm": "BACKTRACKING", "limit": 10} y devuelve los mejores horarios
+ *   en orden; si no hay ninguno, también las materias incompatibles entre sí.
+ *   Un cuerpo de más de {@link #MAX_BODY_BYTES} bytes recibe 413, y una
+ *   búsqueda que supera el presupuesto del servidor recibe 503
+ * - GET /cache: entradas, aciertos y fallos de la caché de resultados
+ * - POST /catalog: vuelve a leer el catálogo (solo desde la misma máquina) y
+ *   descarta la caché calculada con el anterior
+ *
+ * El catálogo es inmutable y los planificadores guardan el estado de cada
+ * búsqueda en la propia llamada, así que una sola instancia de cada algoritmo
+ * atiende todas las solicitudes a la vez sin bloqueos. Los resultados se guardan en una
+ * {@link ScheduleCache} por conjunto de materias, recortados a los pedidos:
+ * los pedidos repetidos no vuelven a buscar.
+ *
+ * Solo el backtracking arma únicamente los mejores horarios; los algoritmos
+ * exhaustivos enumeran y ordenan todos. Para que una solicitud pequeña no
+ * obligue a construir una lista sin cota, antes de usarlos se cuentan los
+ * horarios sin armarlos y se rechaza el pedido si pasan de
+ * {@link #MAX_ENUMERATED_SCHEDULES}. Además cada búsqueda se abandona al
+ * superar {@link #MAX_SEARCH_NODES} nodos. Cada solicitud se atiende en un hilo virtual si la
+ * JVM los ofrece (Java 21+) y si no en un pool de hilos que crece según la carga.
+ */
+public class ScheduleServer {
+
+    private static final int DEFAULT_LIMIT = 10;
+    private static final int MAX_LIMIT = 1000;
+    private static final int CACHE_ENTRIES = 4096;
+    private static final int MAX_BODY_BYTES = 64 * 1024; // una lista de materias cabe con holgura
+    private static final long MAX_SEARCH_NODES = 5_000_000;
+    private static final long MAX_ENUMERATED_SCHEDULES = 200_000;
+
+    private volatile Catalog catalog;
+    private Supplier<List<Course>> catalogLoader;
+    private final Gson gson = new Gson();
+    private HttpServer server;
+    private ExecutorService executor;
+
+    /**
+     * @param conflictGraph grafo de conflictos del catálogo, compartido por todas las solicitudes
+     */
+    public ScheduleServer(ConflictGraph conflictGraph) {
+        this.catalog = new Catalog(conflictGraph);
+    }
+
+    /**
+     * @param catalogLoader lee el catálogo de nuevo para POST /catalog (devuelve
+     *        una lista vacía si falla); sin él la ruta responde 501
+     */
+    public void setCatalogLoader(Supplier<List<Course>> catalogLoader) {
+        this.catalogLoader = catalogLoader;
+    }
+
+    /**
+     * Reemplaza el catálogo y descarta los resultados calculados con el anterior.
+     * Las solicitudes en curso terminan con el catálogo con el que empezaron
+     */
+    public void reloadCatalog(ConflictGraph conflictGraph) {
+        Catalog previous = catalog;
+        catalog = new Catalog(conflictGraph);
+        previous.cache.invalidate();
+    }
+
+    /**
+     * Empieza a atender solicitudes en el puerto dado
+     * @throws IOException si no se puede abrir el puerto
+     */
+    public void start(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.createContext("/subjects", this::handleSubjects);
+        server.createContext("/schedules", this::handleSchedules);
+        server.createContext("/cache", this::handleCache);
+        server.createContext("/catalog", this::handleCatalog);
+        executor = newRequestExecutor();
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /**
+     * Deja de aceptar solicitudes y espera hasta delaySeconds a las que están en curso
+     */
+    public void stop(int delaySeconds) {
+        if (server != null) {
+            server.stop(delaySeconds);
+            executor.shutdown();
+        }
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Un hilo virtual por solicitud si la JVM lo permite. El proyecto compila
+     * para Java 17, por eso el método se busca por reflexión
+     */
+    private static ExecutorService newRequestExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    private void handleSubjects(HttpExchange exchange) throws IOException {
+        if (!exchange.getRequestMethod().equals("GET")) {
+            sendError(exchange, 405, "Método no permitido: use GET");
+            return;
+        }
+        Map<String, Integer> groupsBySubject = new LinkedHashMap<>();
+        for (Course course : catalog.conflictGraph.getCourses()) {
+            groupsBySubject.merge(course.getSubject(), 1, Integer::sum);
+        }
+        sendJson(exchange, 200, groupsBySubject);
+    }
+
+    private void handleSchedules(HttpExchange exchange) throws IOException {
+        if (!exchange.getRequestMethod().equals("POST")) {
+            sendError(exchange, 405, "Método no permitido: use POST");
+            return;
+        }
+
+        byte[] body = readBody(exchange);
+        if (body == null) {
+            sendError(exchange, 413, "El cuerpo supera el máximo de " + MAX_BODY_BYTES + " bytes");
+            return;
+        }
+        ScheduleRequest request;
+        try {
+            request = gson.fromJson(new String(body, StandardCharsets.UTF_8), ScheduleRequest.class);
+        } catch (JsonParseException e) {
+            sendError(exchange, 400, "JSON inválido: " + e.getMessage());
+            return;
+        }
+        if (request == null || request.subjects == null || request.subjects.isEmpty()) {
+            sendError(exchange, 400, "Falta la lista de materias (subjects)");
+            return;
+        }
+        for (String subject : request.subjects) {
+            if (subject == null || subject.isBlank()) {
+                sendError(exchange, 400, "La lista de materias tiene entradas vacías");
+                return;
+            }
+        }
+
+        PriorityType priority;
+        AlgorithmType algorithm;
+        try {
+            priority = request.priority == null ? PriorityType.FEWER_DAYS : PriorityType.valueOf(request.priority);
+            algorithm = request.algorithm == null ? AlgorithmType.BACKTRACKING : AlgorithmType.valueOf(request.algorithm);
+        } catch (IllegalArgumentException e) {
+            sendError(exchange, 400, "Prioridad o algoritmo desconocido: " + e.getMessage());
+            return;
+        }
+        int limit = request.limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(MAX_LIMIT, request.limit));
+
+        // Las materias se buscan en el orden canónico de la clave, así el mismo
+        // conjunto pedido en otro orden recibe el mismo resultado guardado
+        Catalog current = catalog;
+        String variant = algorithm.name() + "/top" + limit;
+        ScheduleCache.Key key = ScheduleCache.Key.forSubjects(request.subjects, priority, variant);
+
+        long startTime = System.nanoTime();
+        List<List<Course>> schedules;
+        try {
+            schedules = current.cache.getOrCompute(key,
+                () -> current.solve(algorithm, key.getItems(), priority, limit));
+        } catch (CancellationException e) {
+            sendError(exchange, 503, e.getMessage());
+            return;
+        } catch (RuntimeException e) {
+            sendError(exchange, 500, "Error al generar horarios: " + e.getMessage());
+            return;
+        }
+        long elapsedNs = System.nanoTime() - startTime;
+
+        ScheduleResponse response = new ScheduleResponse();
+        response.algorithm = algorithm.name();
+        response.priority = priority.name();
+        response.timeMs = elapsedNs / 1_000_000.0;
+        response.schedules = new ArrayList<>(schedules);
+        if (schedules.isEmpty()) {
+            List<String> conflicting = current.backtracking.checkFeasibility(key.getItems()).getConflictingSubjects();
+            response.conflictingSubjects = conflicting.isEmpty() ? null : conflicting;
+        }
+        sendJson(exchange, 200, response);
+    }
+
+    private void handleCache(HttpExchange exchange) throws IOException {
+        if (!exchange.getRequestMethod().equals("GET")) {
+            sendError(exchange, 405, "Método no permitido: use GET");
+            return;
+        }
+        ScheduleCache cache = catalog.cache;
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("entries", (long) cache.size());
+        stats.put("hits", cache.getHits());
+        stats.put("misses", cache.getMisses());
+        sendJson(exchange, 200, stats);
+    }
+
+    /**
+     * Lee el cuerpo de la solicitud sin pasar de {@link #MAX_BODY_BYTES}. Se
+     * rechaza por Content-Length antes de leer y, si no viene (cuerpo por
+     * partes) o miente, al leer un byte más del máximo
+     * @return el cuerpo, o null si supera el máximo
+     */
+    private static byte[] readBody(HttpExchange exchange) throws IOException {
+        String declared = exchange.getRequestHeaders().getFirst("Content-Length");
+        if (declared != null && Long.parseLong(declared.trim()) > MAX_BODY_BYTES) {
+            return null;
+        }
+        try (InputStream input = exchange.getRequestBody()) {
+            byte[] body = input.readNBytes(MAX_BODY_BYTES + 1);
+            return body.length > MAX_BODY_BYTES ? null : body;
+        }
+    }
+
+    private void handleCatalog(HttpExchange exchange) throws IOException {
+        if (!exchange.getRequestMethod().equals("POST")) {
+            sendError(exchange, 405, "Método no permitido: use POST");
+            return;
+        }
+        if (!exchange.getRemoteAddress().getAddress().isLoopbackAddress()) {
+            sendError(exchange, 403, "La recarga del catálogo solo se permite desde la misma máquina");
+            return;
+        }
+        if (catalogLoader == null) {
+            sendError(exchange, 501, "Este servidor no tiene configurada la recarga del catálogo");
+            return;
+        }
+
+        List<Course> courses = catalogLoader.get();
+        if (courses.isEmpty()) {
+            // Se conserva el catálogo anterior
+            sendError(exchange, 500, "No se pudo cargar el catálogo");
+            return;
+        }
+        reloadCatalog(new ConflictGraph(courses));
+        Map<String, Integer> loaded = new LinkedHashMap<>();
+        loaded.put("courses", courses.size());
+        sendJson(exchange, 200, loaded);
+    }
+
+    private void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        Map<String, String> error = new LinkedHashMap<>();
+        error.put("error", message);
+        sendJson(exchange, status, error);
+    }
+
+    private void sendJson(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = gson.toJson(body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+
+    /**
+     * Grafo de conflictos del catálogo junto con la caché de resultados calculados
+     * sobre él y una instancia de cada planificador, compartidas por todas las solicitudes
+     */
+    private static class Catalog {
+        final ConflictGraph conflictGraph;
+        final ScheduleCache cache = new ScheduleCache(CACHE_ENTRIES);
+        final Scheduler backtracking;
+        final ParallelScheduler parallel;
+        final ForwardCheckingScheduler forwardChecking;
+        final DivideConquerScheduler divideConquer;
+        final GreedyScheduler greedy;
+        final DynamicProgrammingScheduler dynamicProgramming;
+
+        Catalog(ConflictGraph conflictGraph) {
+            this.conflictGraph = conflictGraph;
+            this.backtracking = new Scheduler(conflictGraph);
+            this.parallel = new ParallelScheduler(conflictGraph);
+            this.forwardChecking = new ForwardCheckingScheduler(conflictGraph);
+            this.divideConquer = new DivideConquerScheduler(conflictGraph);
+            this.greedy = new GreedyScheduler(conflictGraph);
+            this.dynamicProgramming = new DynamicProgrammingScheduler(conflictGraph);
+        }
+
+        /**
+         * Ejecuta el algoritmo pedido; cada llamada lleva su propio estado de búsqueda
+         * @return a lo sumo limit horarios, en orden
+         * @throws CancellationException si la búsqueda excede el presupuesto del servidor
+         */
+        List<List<Course>> solve(AlgorithmType algorithm, List<String> subjects, PriorityType priority, int limit) {
+            SearchMonitor monitor = new SearchMonitor();
+            monitor.setNodeLimit(MAX_SEARCH_NODES);
+            if (algorithm != AlgorithmType.BACKTRACKING && algorithm != AlgorithmType.GREEDY) {
+                long total = backtracking.countSchedules(subjects);
+                if (total > MAX_ENUMERATED_SCHEDULES) {
+                    throw new CancellationException(String.format(
+                        "%s armaría los %d horarios válidos (máximo %d); use BACKTRACKING, que solo arma los mejores",
+                        algorithm.name(), total, MAX_ENUMERATED_SCHEDULES));
+                }
+            }
+
+            List<List<Course>> schedules;
+            switch (algorithm) {
+                case BACKTRACKING:
+                    // Solo se piden los mejores: el modo top-K poda el resto del árbol
+                    schedules = backtracking.generateTopSchedules(subjects, priority, limit, monitor);
+                    break;
+                case PARALLEL_BACKTRACKING:
+                    schedules = parallel.generateSchedules(subjects, priority, monitor);
+                    break;
+                case FORWARD_CHECKING:
+                    schedules = forwardChecking.generateSchedules(subjects, priority, monitor);
+                    break;
+                case DIVIDE_CONQUER:
+                    schedules = divideConquer.generateSchedules(subjects, priority, monitor);
+                    break;
+                case GREEDY:
+                    schedules = greedy.generateSchedules(subjects, priority);
+                    break;
+                case DYNAMIC_PROGRAMMING:
+                    schedules = dynamicProgramming.generateSchedules(subjects, priority, monitor);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Algoritmo no soportado: " + algorithm);
+            }
+            // La caché guarda solo lo que se devuelve
+            return schedules.size() <= limit ? schedules : new ArrayList<>(schedules.subList(0, limit));
+        }
+    }
+
+    /**
+     * Cuerpo de POST /schedules (los campos ausentes toman su valor por defecto)
+     */
+    private static class ScheduleRequest {
+        List<String> subjects;
+        String priority;
+        String algorithm;
+        Integer limit;
+    }
+
+    private static class ScheduleResponse {
+        String algorithm;
+        String priority;
+        double timeMs;
+        List<List<Course>> schedules;
+        List<String> conflictingSubjects; // solo si no existe ningún horario
+    }
+}
@@ -0,0 +1,99 @@
+package com.scheduler.algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.scheduler.logic.CatalogGenerator;
+import com.scheduler.logic.ConflictGraph;
+import com.scheduler.logic.PriorityType;
+import com.scheduler.logic.Scheduler;
+import com.scheduler.model.Course;
+
+/**
+ * Compara cada algoritmo exacto con el backtracking sobre catálogos generados
+ *
+ * Todos deben devolver los mismos horarios en el mismo orden para cada
+ * prioridad; el goloso es heurístico y no entra en la comparación.
+ */
+class AlgorithmEquivalenceTest {
+
+    private static final int[] TOP_LIMITS = {1, 5, 10};
+
+    @ParameterizedTest
+    @ValueSource(longs = {1, 7, 42, 2024})
+    void exactAlgorithmsMatchBacktracking(long seed) {
+        // Catálogos distintos según la semilla: 4 a 6 materias de 3 a 5 grupos
+        CatalogGenerator generator = new CatalogGenerator(4 + (int) (seed % 3), 3 + (int) (seed % 3),
+                2, 5, 0.3, seed);
+        ConflictGraph graph = new ConflictGraph(generator.generate());
+        List<String> subjects = generator.subjectNames();
+        Scheduler scheduler = new Scheduler(graph);
+
+        for (PriorityType priority : PriorityType.values()) {
+            List<List<String>> expected = ids(scheduler.generateSchedules(subjects, priority));
+            String context = "semilla " + seed + ", " + priority;
+
+            assertEquals(expected, ids(new ParallelScheduler(graph).generateSchedules(subjects, priority)),
+                "paralelo, " + context);
+            assertEquals(expected, ids(new ForwardCheckingScheduler(graph).generateSchedules(subjects, priority)),
+                "forward checking, " + context);
+            assertEquals(expected, ids(new DivideConquerScheduler(graph).generateSchedules(subjects, priority)),
+                "divide y conquista, " + context);
+            assertEquals(expected, ids(new DynamicProgrammingScheduler(graph).generateSchedules(subjects, priority)),
+                "programación dinámica, " + context);
+
+            for (int limit : TOP_LIMITS) {
+                assertEquals(expected.subList(0, Math.min(limit, expected.size())),
+                    ids(scheduler.generateTopSchedules(subjects, priority, limit)),
+                    "mejores " + limit + ", " + context);
+            }
+            assertEquals(expected.size(), scheduler.countSchedules(subjects), "conteo, " + context);
+        }
+    }
+
+    @Test
+    void emptySubjectListYieldsTheEmptySchedule() {
+        assertAllAlgorithms(new ArrayList<>(), List.of(List.of()));
+    }
+
+    @Test
+    void unknownSubjectYieldsNoSchedules() {
+        CatalogGenerator generator = smallCatalog();
+        assertAllAlgorithms(List.of("Materia inexistente"), List.of());
+        assertAllAlgorithms(List.of(generator.subjectNames().get(0), "Materia inexistente"), List.of());
+    }
+
+    private static void assertAllAlgorithms(List<String> subjects, List<List<String>> expected) {
+        ConflictGraph graph = new ConflictGraph(smallCatalog().generate());
+        PriorityType priority = PriorityType.FEWER_DAYS;
+
+        assertEquals(expected, ids(new Scheduler(graph).generateSchedules(subjects, priority)), "backtracking");
+        assertEquals(expected, ids(new Scheduler(graph).generateTopSchedules(subjects, priority, 10)), "mejores 10");
+        assertEquals(expected.size(), new Scheduler(graph).countSchedules(subjects), "conteo");
+        assertEquals(expected, ids(new ParallelScheduler(graph).generateSchedules(subjects, priority)), "paralelo");
+        assertEquals(expected, ids(new ForwardCheckingScheduler(graph).generateSchedules(subjects, priority)),
+            "forward checking");
+        assertEquals(expected, ids(new DivideConquerScheduler(graph).generateSchedules(subjects, priority)),
+            "divide y conquista");
+        assertEquals(expected, ids(new DynamicProgrammingScheduler(graph).generateSchedules(subjects, priority)),
+            "programación dinámica");
+    }
+
+    private static CatalogGenerator smallCatalog() {
+        return new CatalogGenerator(3, 3, 2, 5, 0.3, 1);
+    }
+
+    // Los horarios se comparan por los identificadores de sus cursos
+    private static List<List<String>> ids(List<List<Course>> schedules) {
+        return schedules.stream()
+            .map(schedule -> schedule.stream().map(Course::getId).collect(Collectors.toList()))
+            .collect(Collectors.toList());
+    }
+}